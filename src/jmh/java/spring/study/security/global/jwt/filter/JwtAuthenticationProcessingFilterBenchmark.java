@@ -0,0 +1,79 @@
+package spring.study.security.global.jwt.filter;
+
+import jakarta.servlet.FilterChain;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.context.SecurityContextHolder;
+import spring.study.security.domain.model.Role;
+import spring.study.security.domain.model.User;
+import spring.study.security.global.jwt.cache.VerifiedTokenCache;
+import spring.study.security.global.jwt.key.JwtKeyRing;
+import spring.study.security.global.jwt.service.JwtService;
+import spring.study.security.global.jwt.service.JwtServiceBenchmark;
+import spring.study.security.global.login.authority.Permissions;
+import spring.study.security.global.login.authority.RoleAuthorityRegistry;
+import spring.study.security.global.route.SecurityRoutes;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 인증된 요청 한 건이 JwtAuthenticationProcessingFilter를 통과하는 비용 측정 (trust-claims 모드, DB 조회 없음)
+ * 실행 : ./gradlew jmh -PjmhIncludes=JwtAuthenticationProcessingFilterBenchmark
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+public class JwtAuthenticationProcessingFilterBenchmark {
+
+    @Param({"false", "true"})
+    public boolean cacheEnabled;
+
+    private JwtAuthenticationProcessingFilter filter;
+    private String authorizationHeader;
+    private final FilterChain filterChain = (request, response) -> { };
+
+    @Setup
+    public void setUp() {
+        JwtService jwtService = JwtServiceBenchmark.createJwtService(JwtKeyRing.Algorithm.HS512);
+        VerifiedTokenCache cache = new VerifiedTokenCache(cacheEnabled, 10_000, new SimpleMeterRegistry());
+        filter = new JwtAuthenticationProcessingFilter(jwtService, null, cache, JwtServiceBenchmark.createTokenDenylist(), JwtServiceBenchmark.createAuthMetrics(), SecurityRoutes.table(), createRoleAuthorityRegistry());
+
+        User user = User.builder()
+                .username("username")
+                .role("ROLE_USER")
+                .build();
+        authorizationHeader = jwtService.getBEARER() + jwtService.createAccessToken(user);
+    }
+
+    private static RoleAuthorityRegistry createRoleAuthorityRegistry() {
+        RoleAuthorityRegistry registry = new RoleAuthorityRegistry(null);
+        registry.load(List.of(new Role("ROLE_USER", null, Set.of(Permissions.USER_ACCESS))));
+        return registry;
+    }
+
+    // doFilterInternal()을 직접 호출하므로 (OncePerRequestFilter의 중복 실행 체크를 거치지 않음) 스레드별로 요청 객체를 재사용한다.
+    @State(Scope.Thread)
+    public static class RequestState {
+        private MockHttpServletRequest request;
+        private MockHttpServletResponse response;
+
+        @Setup
+        public void setUp(JwtAuthenticationProcessingFilterBenchmark benchmark) {
+            request = new MockHttpServletRequest("GET", "/user");
+            request.addHeader("Authorization", benchmark.authorizationHeader);
+            response = new MockHttpServletResponse();
+        }
+    }
+
+    @Benchmark
+    public Object doFilterInternal(RequestState state) throws Exception {
+        filter.doFilterInternal(state.request, state.response, filterChain);
+        Object authentication = SecurityContextHolder.getContext().getAuthentication();
+        SecurityContextHolder.clearContext();
+        return authentication;
+    }
+}
@@ -0,0 +1,63 @@
+package spring.study.security.global.jwt.revocation;
+
+import io.jsonwebtoken.Jwts;
+import org.openjdk.jmh.annotations.*;
+import spring.study.security.global.jwt.dto.TokenVerification;
+import spring.study.security.global.jwt.service.JwtServiceBenchmark;
+
+import java.time.Instant;
+import java.util.Date;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 요청마다 실행되는 폐기 여부 확인 비용 측정 (expected-revocations만큼 폐기된 상태)
+ * 실행 : ./gradlew jmh -PjmhIncludes=TokenDenylistBenchmark
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Benchmark)
+public class TokenDenylistBenchmark {
+
+    private static final int REVOKED = 100_000;
+
+    private TokenDenylist tokenDenylist;
+    // 대부분의 요청 (Bloom filter에서 바로 통과)
+    private TokenVerification activeToken;
+    // 폐기된 토큰 (Bloom filter + exact set 조회)
+    private TokenVerification revokedToken;
+
+    @Setup
+    public void setUp() {
+        tokenDenylist = JwtServiceBenchmark.createTokenDenylist();
+        Instant expiresAt = Instant.now().plusSeconds(3600);
+        String revokedJti = null;
+        for (int i = 0; i < REVOKED; i++) {
+            revokedJti = UUID.randomUUID().toString();
+            tokenDenylist.apply(RevocationEvent.token(revokedJti, expiresAt));
+        }
+        activeToken = token(UUID.randomUUID().toString(), expiresAt);
+        revokedToken = token(revokedJti, expiresAt);
+    }
+
+    @Benchmark
+    public boolean active() {
+        return tokenDenylist.isRevoked(activeToken);
+    }
+
+    @Benchmark
+    public boolean revoked() {
+        return tokenDenylist.isRevoked(revokedToken);
+    }
+
+    private static TokenVerification token(String jti, Instant expiresAt) {
+        return TokenVerification.success(Jwts.claims()
+                .id(jti)
+                .issuedAt(new Date())
+                .expiration(Date.from(expiresAt))
+                .add("id", 1)
+                .add("name", "username")
+                .add("role", "ROLE_USER")
+                .build(), "id", "name", "role", "iat_ms");
+    }
+}
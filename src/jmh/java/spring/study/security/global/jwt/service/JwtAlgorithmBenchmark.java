@@ -0,0 +1,91 @@
+package spring.study.security.global.jwt.service;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Jwks;
+import io.jsonwebtoken.security.SecureDigestAlgorithm;
+import org.openjdk.jmh.annotations.*;
+
+import javax.crypto.SecretKey;
+import java.security.Key;
+import java.security.KeyPair;
+import java.security.PublicKey;
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 서명 알고리즘별 발급/검증 비용 비교 (JwtService가 사용하는 jjwt API 그대로 사용)
+ * 실행 : ./gradlew jmh -PjmhIncludes=JwtAlgorithmBenchmark
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+public class JwtAlgorithmBenchmark {
+
+    @Param({"HS256", "HS512", "ES256", "EdDSA"})
+    public String algorithm;
+
+    // 추가 Claim의 크기(byte)로 토큰 크기를 조절
+    @Param({"0", "1024"})
+    public int payloadBytes;
+
+    private Key signingKey;
+    private SecureDigestAlgorithm<Key, ?> signatureAlgorithm;
+    private JwtParser parser;
+    private String payload;
+    private String token;
+
+    @Setup
+    @SuppressWarnings("unchecked")
+    public void setUp() {
+        switch (algorithm) {
+            case "HS256":
+                setUpSecretKey(Jwts.SIG.HS256.key().build());
+                signatureAlgorithm = (SecureDigestAlgorithm<Key, ?>) (SecureDigestAlgorithm<?, ?>) Jwts.SIG.HS256;
+                break;
+            case "HS512":
+                setUpSecretKey(Jwts.SIG.HS512.key().build());
+                signatureAlgorithm = (SecureDigestAlgorithm<Key, ?>) (SecureDigestAlgorithm<?, ?>) Jwts.SIG.HS512;
+                break;
+            case "ES256":
+                setUpKeyPair(Jwts.SIG.ES256.keyPair().build());
+                signatureAlgorithm = (SecureDigestAlgorithm<Key, ?>) (SecureDigestAlgorithm<?, ?>) Jwts.SIG.ES256;
+                break;
+            case "EdDSA":
+                setUpKeyPair(Jwks.CRV.Ed25519.keyPair().build());
+                signatureAlgorithm = (SecureDigestAlgorithm<Key, ?>) (SecureDigestAlgorithm<?, ?>) Jwts.SIG.EdDSA;
+                break;
+            default:
+                throw new IllegalArgumentException(algorithm);
+        }
+        payload = "p".repeat(payloadBytes);
+        token = sign();
+    }
+
+    private void setUpSecretKey(SecretKey key) {
+        signingKey = key;
+        parser = Jwts.parser().verifyWith(key).build();
+    }
+
+    private void setUpKeyPair(KeyPair keyPair) {
+        signingKey = keyPair.getPrivate();
+        parser = Jwts.parser().verifyWith((PublicKey) keyPair.getPublic()).build();
+    }
+
+    @Benchmark
+    public String sign() {
+        return Jwts.builder()
+                .subject("AccessToken")
+                .claim("name", "username")
+                .claim("payload", payload)
+                .expiration(new Date(System.currentTimeMillis() + 3_600_000))
+                .signWith(signingKey, signatureAlgorithm)
+                .compact();
+    }
+
+    @Benchmark
+    public Claims verify() {
+        return parser.parseSignedClaims(token).getPayload();
+    }
+}
@@ -0,0 +1,126 @@
+package spring.study.security.global.jwt.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.test.util.ReflectionTestUtils;
+import spring.study.security.domain.model.User;
+import spring.study.security.global.jwt.dto.IssuedRefreshToken;
+import spring.study.security.global.jwt.dto.TokenVerification;
+import spring.study.security.global.jwt.key.JwtKeyFile;
+import spring.study.security.global.jwt.key.JwtKeyRing;
+import spring.study.security.global.jwt.revocation.TokenDenylist;
+import spring.study.security.global.jwt.store.InMemoryRefreshTokenStore;
+import spring.study.security.global.metrics.AuthMetrics;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JwtService의 토큰 발급/검증 비용 측정
+ * 실행 : ./gradlew jmh -PjmhIncludes=JwtServiceBenchmark
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+public class JwtServiceBenchmark {
+
+    @Param({"HS512", "ES256", "EdDSA"})
+    public JwtKeyRing.Algorithm algorithm;
+
+    // username 길이로 토큰(Payload) 크기를 조절
+    @Param({"8", "256"})
+    public int usernameLength;
+
+    private JwtService jwtService;
+    private User user;
+    private String accessToken;
+    private String refreshToken;
+
+    @Setup
+    public void setUp() {
+        jwtService = createJwtService(algorithm);
+        user = User.builder()
+                .username("u".repeat(usernameLength))
+                .role("ROLE_USER")
+                .build();
+        accessToken = jwtService.createAccessToken(user);
+        refreshToken = jwtService.createRefreshToken().getToken();
+    }
+
+    @Benchmark
+    public String createAccessToken() {
+        return jwtService.createAccessToken(user);
+    }
+
+    @Benchmark
+    public IssuedRefreshToken createRefreshToken() {
+        return jwtService.createRefreshToken();
+    }
+
+    @Benchmark
+    public TokenVerification verify() {
+        return jwtService.verifyAccessToken(accessToken);
+    }
+
+    @Benchmark
+    public boolean isTokenValid() {
+        return jwtService.isTokenValid(accessToken);
+    }
+
+    @Benchmark
+    public Optional<String> extractUsername() {
+        return jwtService.extractUsername(accessToken);
+    }
+
+    @Benchmark
+    public TokenVerification verifyRefreshToken() {
+        return jwtService.verifyRefreshToken(refreshToken);
+    }
+
+    public static JwtService createJwtService(JwtKeyRing.Algorithm algorithm) {
+        byte[] secret = new byte[64];
+        ThreadLocalRandom.current().nextBytes(secret);
+        JwtKeyRing jwtKeyRing = new JwtKeyRing(algorithm, Base64.getEncoder().encodeToString(secret), createKeyFile(algorithm), 86400, Duration.ofMinutes(5));
+        jwtKeyRing.init();
+
+        // 운영과 같이 지표 기록 비용까지 포함해서 측정한다.
+        JwtService jwtService = new JwtService(null, new InMemoryRefreshTokenStore(), jwtKeyRing, createTokenDenylist(), createAuthMetrics(), 3600, 86400);
+        ReflectionTestUtils.setField(jwtService, "accessHeader", "Authorization");
+        ReflectionTestUtils.setField(jwtService, "refreshHeader", "Authorization-Refresh");
+        ReflectionTestUtils.setField(jwtService, "trustClaims", true);
+        jwtService.init();
+        return jwtService;
+    }
+
+    // ES256, EdDSA는 운영과 같이 키 파일에서 서명키를 읽는다.
+    private static String createKeyFile(JwtKeyRing.Algorithm algorithm) {
+        if (algorithm == JwtKeyRing.Algorithm.HS512) {
+            return "";
+        }
+        try {
+            Path keyFile = Files.createTempFile("jwt-keys", ".json");
+            Files.delete(keyFile);
+            keyFile.toFile().deleteOnExit();
+            JwtKeyFile.append(keyFile, algorithm, Instant.now().minusSeconds(60));
+            return keyFile.toString();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    public static AuthMetrics createAuthMetrics() {
+        return new AuthMetrics(new SimpleMeterRegistry());
+    }
+
+    public static TokenDenylist createTokenDenylist() {
+        return new TokenDenylist(100_000, 3600, new SimpleMeterRegistry());
+    }
+}
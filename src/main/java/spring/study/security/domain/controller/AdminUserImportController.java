@@ -0,0 +1,63 @@
+package spring.study.security.domain.controller;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import spring.study.security.domain.importer.UserImportFormat;
+import spring.study.security.domain.importer.UserImportJob;
+import spring.study.security.domain.importer.UserImportService;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+
+// 기존 회원 대량 가져오기 (/admin/** 이므로 ROLE_ADMIN만 호출 가능)
+@RequiredArgsConstructor
+@RestController
+@RequestMapping("/admin/users/import")
+public class AdminUserImportController {
+
+    private final UserImportService userImportService;
+
+    /**
+     * Body(NDJSON 또는 CSV)를 그대로 받아서 가져오기를 시작하고, 202와 작업 상태를 응답한다.
+     * skip : 이 줄까지는 건너뛴다. (이전 작업의 committedLine)
+     */
+    @PostMapping(consumes = {"application/x-ndjson", "text/csv"})
+    public ResponseEntity<UserImportJob.Snapshot> importUsers(
+            InputStream body,
+            @RequestHeader("Content-Type") String contentType,
+            @RequestParam(defaultValue = "0") long skip
+    ) throws IOException {
+        UserImportFormat format = UserImportFormat.from(MediaType.parseMediaType(contentType));
+        UserImportJob job = userImportService.submit(body, format, skip);
+        return ResponseEntity.accepted()
+                .location(URI.create("/admin/users/import/" + job.getId()))
+                .body(job.snapshot());
+    }
+
+    @GetMapping("/{id}")
+    public ResponseEntity<UserImportJob.Snapshot> status(@PathVariable String id) {
+        return userImportService.find(id)
+                .map(job -> ResponseEntity.ok(job.snapshot()))
+                .orElseGet(() -> ResponseEntity.notFound().build());
+    }
+
+    // 실패한 작업을 committedLine 다음 줄부터 다시 시작한다.
+    @PostMapping("/{id}/resume")
+    public ResponseEntity<UserImportJob.Snapshot> resume(@PathVariable String id) {
+        return userImportService.find(id)
+                .map(job -> userImportService.resume(job)
+                        ? ResponseEntity.accepted().body(job.snapshot())
+                        : ResponseEntity.status(HttpStatus.CONFLICT).body(job.snapshot()))
+                .orElseGet(() -> ResponseEntity.notFound().build());
+    }
+}
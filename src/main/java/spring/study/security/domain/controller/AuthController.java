@@ -1,45 +1,50 @@
 package spring.study.security.domain.controller;
 
 import jakarta.validation.Valid;
-import lombok.AllArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.coyote.BadRequestException;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.ResponseBody;
 import org.springframework.web.bind.annotation.RestController;
 import spring.study.security.domain.dto.UserDto;
-import spring.study.security.domain.model.User;
-import spring.study.security.domain.repository.UserRepository;
+import spring.study.security.domain.service.UserService;
 
-import java.util.Optional;
+import java.util.concurrent.RejectedExecutionException;
 
 @Slf4j
-@AllArgsConstructor
 @RestController
 public class AuthController {
 
-    private final UserRepository userRepository;
-    private final BCryptPasswordEncoder bCryptPasswordEncoder;
+    private final UserService userService;
+    private final long retryAfterSeconds;
+
+    public AuthController(UserService userService, @Value("${login.async.retry-after-seconds}") long retryAfterSeconds) {
+        this.userService = userService;
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
 
     @PostMapping("/join")
     public @ResponseBody String join(@Valid @RequestBody UserDto userDto) throws BadRequestException {
-        log.info("POST /join UserDto : {}", userDto);
+        // UserDto에는 비밀번호 원문이 있으므로 username만 남깁니다.
+        log.debug("POST /join username : {}", userDto.getUsername());
 
-        Optional<User> userEntity = userRepository.findByUsername(userDto.getUsername());
-        if (userEntity.isPresent()) {
-            throw new BadRequestException("이미 가입된 유저입니다.");
-        }
+        // 중복 가입이면 BadRequestException("이미 가입된 유저입니다.")
+        userService.join(userDto);
+        return "redirect:/loginForm";
+    }
 
-        User user = User.builder()
-                .username(userDto.getUsername())
-                .password(userDto.getPassword())
-                .email(userDto.getEmail())
+    // 비밀번호 해싱 스레드풀이 가득 차면 로그인과 같이 503 + Retry-After로 응답한다.
+    @ExceptionHandler(RejectedExecutionException.class)
+    public ResponseEntity<Void> hashingRejected(RejectedExecutionException e) {
+        log.warn("회원 가입 요청 거절 : {}", e.getMessage());
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds))
                 .build();
-        user.authorizeUser();
-        user.passwordEncode(bCryptPasswordEncoder);
-        userRepository.save(user);
-        return "redirect:/loginForm";
     }
 }
@@ -0,0 +1,18 @@
+package spring.study.security.domain.importer;
+
+import org.springframework.http.MediaType;
+
+public enum UserImportFormat {
+    // 한 줄에 JSON 객체 하나 : {"username": "...", "password": "...", "email": "..."}
+    NDJSON,
+    // 첫 줄은 헤더 : username,password,email (또는 username,encodedPassword,email)
+    CSV,
+    ;
+
+    public static UserImportFormat from(MediaType contentType) {
+        if (contentType != null && "csv".equalsIgnoreCase(contentType.getSubtype())) {
+            return CSV;
+        }
+        return NDJSON;
+    }
+}
@@ -0,0 +1,149 @@
+package spring.study.security.domain.importer;
+
+import lombok.Getter;
+
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 회원 가져오기 작업 하나의 진행 상황
+ * 가져오기 스레드만 값을 바꾸고, 조회 API는 snapshot()으로 읽는다.
+ */
+public class UserImportJob {
+
+    public enum Status {
+        QUEUED,
+        RUNNING,
+        COMPLETED,
+        // 중간에 실패한 경우, 파일을 남겨두므로 committedLine 다음 줄부터 다시 시작(resume)할 수 있다.
+        FAILED,
+    }
+
+    public record Error(long line, String message) {
+    }
+
+    public record Snapshot(
+            String id,
+            Status status,
+            UserImportFormat format,
+            long read,
+            long inserted,
+            long duplicated,
+            long rejected,
+            long committedLine,
+            List<Error> errors,
+            Instant startedAt,
+            Instant finishedAt,
+            String failure
+    ) {
+    }
+
+    @Getter
+    private final String id;
+    @Getter
+    private final Path file;
+    @Getter
+    private final UserImportFormat format;
+    private final int maxErrors;
+
+    private volatile Status status = Status.QUEUED;
+    // 읽은 회원 수 (형식 오류 포함)
+    private final AtomicLong read = new AtomicLong();
+    // 지금까지 읽은 마지막 줄 (다시 시작했을 때 이미 센 줄을 다시 세지 않기 위함, 가져오기 스레드만 사용)
+    private long lastReadLine;
+    private final AtomicLong inserted = new AtomicLong();
+    // 이미 가입된 username이라 건너뛴 수
+    private final AtomicLong duplicated = new AtomicLong();
+    // 형식 오류로 건너뛴 수
+    private final AtomicLong rejected = new AtomicLong();
+    // 이 줄까지는 DB에 커밋되었다. (다시 시작할 때 이 줄까지는 건너뛴다)
+    private volatile long committedLine;
+    private final List<Error> errors = new ArrayList<>();
+    private volatile Instant startedAt;
+    private volatile Instant finishedAt;
+    private volatile String failure;
+
+    public UserImportJob(String id, Path file, UserImportFormat format, long committedLine, int maxErrors) {
+        this.id = id;
+        this.file = file;
+        this.format = format;
+        this.committedLine = committedLine;
+        this.maxErrors = maxErrors;
+    }
+
+    public Status getStatus() {
+        return status;
+    }
+
+    public long getCommittedLine() {
+        return committedLine;
+    }
+
+    public Instant getFinishedAt() {
+        return finishedAt;
+    }
+
+    void start() {
+        startedAt = Instant.now();
+        finishedAt = null;
+        failure = null;
+        status = Status.RUNNING;
+    }
+
+    void queue() {
+        status = Status.QUEUED;
+    }
+
+    /**
+     * @return 처음 읽은 줄이면 true
+     */
+    boolean read(long line) {
+        if (line <= lastReadLine) {
+            return false;
+        }
+        lastReadLine = line;
+        read.incrementAndGet();
+        return true;
+    }
+
+    void reject(long line, String message) {
+        if (!read(line)) {
+            return;
+        }
+        rejected.incrementAndGet();
+        synchronized (errors) {
+            if (errors.size() < maxErrors) {
+                errors.add(new Error(line, message));
+            }
+        }
+    }
+
+    void commit(long lastLine, int written, int insertedRows) {
+        inserted.addAndGet(insertedRows);
+        duplicated.addAndGet(written - insertedRows);
+        committedLine = lastLine;
+    }
+
+    void complete() {
+        finishedAt = Instant.now();
+        status = Status.COMPLETED;
+    }
+
+    void fail(String message) {
+        finishedAt = Instant.now();
+        failure = message;
+        status = Status.FAILED;
+    }
+
+    public Snapshot snapshot() {
+        List<Error> errorsCopy;
+        synchronized (errors) {
+            errorsCopy = List.copyOf(errors);
+        }
+        return new Snapshot(id, status, format, read.get(), inserted.get(), duplicated.get(), rejected.get(),
+                committedLine, errorsCopy, startedAt, finishedAt, failure);
+    }
+}
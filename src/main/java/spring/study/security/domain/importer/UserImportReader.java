@@ -0,0 +1,183 @@
+package spring.study.security.domain.importer;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+/**
+ * 가져오기 파일(NDJSON / CSV)을 한 줄씩 읽는다. 파일 전체를 메모리에 올리지 않는다.
+ * 형식이 잘못된 줄은 InvalidRecordException으로 알리고, 다음 줄부터 계속 읽을 수 있다.
+ */
+public class UserImportReader implements Closeable {
+
+    private static final int MAX_FIELD_LENGTH = 255;
+    // DelegatingPasswordEncoder가 검증할 수 있는 해시만 받는다. ({id}가 없는 해시는 bcrypt로 검증)
+    private static final Pattern ENCODED_PASSWORD = Pattern.compile("^(\\{(bcrypt|argon2|pbkdf2)}.+|\\$2[aby]?\\$\\d\\d\\$.{53})$");
+
+    private final BufferedReader reader;
+    private final UserImportFormat format;
+    private final ObjectMapper objectMapper;
+    // CSV 헤더의 컬럼 이름 -> 위치
+    private Map<String, Integer> columns;
+    private long line;
+
+    public UserImportReader(Path file, UserImportFormat format, ObjectMapper objectMapper) throws IOException {
+        this.reader = Files.newBufferedReader(file, StandardCharsets.UTF_8);
+        this.format = format;
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * 다음 회원을 읽는다. 파일 끝이면 null
+     * @throws InvalidRecordException 현재 줄의 형식이 잘못된 경우 (다시 호출하면 다음 줄을 읽는다)
+     */
+    public UserImportRecord next() throws IOException {
+        String text;
+        while ((text = reader.readLine()) != null) {
+            line++;
+            if (text.isBlank()) {
+                continue;
+            }
+            if (format == UserImportFormat.CSV && columns == null) {
+                columns = readHeader(text);
+                continue;
+            }
+            return format == UserImportFormat.CSV ? parseCsv(text) : parseJson(text);
+        }
+        return null;
+    }
+
+    private Map<String, Integer> readHeader(String text) {
+        List<String> names = splitCsv(text);
+        Map<String, Integer> header = new HashMap<>();
+        for (int i = 0; i < names.size(); i++) {
+            header.put(names.get(i).trim(), i);
+        }
+        if (!header.containsKey("username") || !(header.containsKey("password") || header.containsKey("encodedPassword"))) {
+            throw new IllegalArgumentException("CSV 헤더에 username, password(또는 encodedPassword) 컬럼이 필요합니다.");
+        }
+        return header;
+    }
+
+    private UserImportRecord parseCsv(String text) {
+        List<String> values = splitCsv(text);
+        return toRecord(csvValue(values, "username"), csvValue(values, "password"),
+                csvValue(values, "encodedPassword"), csvValue(values, "email"));
+    }
+
+    private String csvValue(List<String> values, String column) {
+        Integer index = columns.get(column);
+        return index != null && index < values.size() ? values.get(index) : null;
+    }
+
+    private UserImportRecord parseJson(String text) {
+        JsonNode node;
+        try {
+            node = objectMapper.readTree(text);
+        } catch (JsonProcessingException e) {
+            throw new InvalidRecordException(line, "JSON 형식이 아닙니다.");
+        }
+        if (node == null || !node.isObject()) {
+            throw new InvalidRecordException(line, "JSON 객체가 아닙니다.");
+        }
+        return toRecord(jsonValue(node, "username"), jsonValue(node, "password"),
+                jsonValue(node, "encodedPassword"), jsonValue(node, "email"));
+    }
+
+    private String jsonValue(JsonNode node, String field) {
+        JsonNode value = node.get(field);
+        if (value == null || value.isNull()) {
+            return null;
+        }
+        if (!value.isTextual()) {
+            throw new InvalidRecordException(line, field + "는 문자열이어야 합니다.");
+        }
+        return value.asText();
+    }
+
+    private UserImportRecord toRecord(String username, String password, String encodedPassword, String email) {
+        username = emptyToNull(username);
+        password = emptyToNull(password);
+        encodedPassword = emptyToNull(encodedPassword);
+        email = emptyToNull(email);
+        if (username == null) {
+            throw new InvalidRecordException(line, "username이 없습니다.");
+        }
+        if ((password == null) == (encodedPassword == null)) {
+            throw new InvalidRecordException(line, "password와 encodedPassword 중 하나만 있어야 합니다.");
+        }
+        if (encodedPassword != null && !ENCODED_PASSWORD.matcher(encodedPassword).matches()) {
+            throw new InvalidRecordException(line, "지원하지 않는 encodedPassword 형식입니다.");
+        }
+        if (username.length() > MAX_FIELD_LENGTH || (email != null && email.length() > MAX_FIELD_LENGTH)
+                || (encodedPassword != null && encodedPassword.length() > MAX_FIELD_LENGTH)) {
+            throw new InvalidRecordException(line, "값이 너무 깁니다.");
+        }
+        return new UserImportRecord(line, username, password, encodedPassword, email);
+    }
+
+    private static String emptyToNull(String value) {
+        return value == null || value.isEmpty() ? null : value;
+    }
+
+    /**
+     * RFC 4180 형식의 한 줄을 나눈다. ("로 감싼 값 안의 ,와 ""를 처리하고, 줄바꿈이 들어간 값은 지원하지 않음)
+     */
+    static List<String> splitCsv(String text) {
+        List<String> values = new ArrayList<>();
+        StringBuilder value = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < text.length() && text.charAt(i + 1) == '"') {
+                    value.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    value.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                values.add(value.toString());
+                value.setLength(0);
+            } else {
+                value.append(c);
+            }
+        }
+        values.add(value.toString());
+        return values;
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+
+    public static class InvalidRecordException extends RuntimeException {
+        private final long line;
+
+        public InvalidRecordException(long line, String message) {
+            super(message);
+            this.line = line;
+        }
+
+        public long getLine() {
+            return line;
+        }
+    }
+}
@@ -0,0 +1,12 @@
+package spring.study.security.domain.importer;
+
+/**
+ * 가입시킬 회원 한 명 (파일의 한 줄)
+ * password(평문)와 encodedPassword(기존 시스템에서 가져온 해시) 중 하나만 있다.
+ */
+public record UserImportRecord(long line, String username, String password, String encodedPassword, String email) {
+
+    public boolean isEncoded() {
+        return encodedPassword != null;
+    }
+}
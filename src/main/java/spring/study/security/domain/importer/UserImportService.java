@@ -0,0 +1,301 @@
+package spring.study.security.domain.importer;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.stream.Stream;
+
+/**
+ * 기존 회원 대량 가져오기
+ * User.id가 IDENTITY라 JPA save()는 한 명마다 INSERT를 한 번씩 실행하므로, JPA를 거치지 않고 JDBC로 저장한다.
+ * - 업로드된 파일은 spool-dir에 저장한 뒤 백그라운드에서 처리하고, 진행 상황은 작업 id로 조회한다.
+ * - batch-size명씩 묶어서 비밀번호를 ForkJoinPool에서 병렬로 해싱하고, 여러 row를 넣는 INSERT 한 번으로 저장한다.
+ *   (이전 묶음을 저장하는 동안 다음 묶음을 해싱한다.)
+ * - 이미 가입된 username은 ON DUPLICATE KEY UPDATE로 건너뛰므로(uk_user_username) 같은 파일을 다시 가져와도 중복 가입되지 않는다.
+ *   INSERT IGNORE와 달리 그 외의 오류(길이 초과, NOT NULL, FK 등)는 경고로 바뀌지 않고 작업을 실패시킨다.
+ * - 실패하면 파일을 남겨두고, 마지막으로 커밋된 줄(committedLine) 다음부터 다시 시작할 수 있다.
+ * - 업로드된 파일에는 평문 비밀번호가 들어있을 수 있으므로, 실패한 작업의 파일도 failed-file-ttl이 지나면 지운다.
+ *   끝난 작업의 상태는 job-retention 동안만 조회할 수 있다.
+ */
+@Slf4j
+@Service
+public class UserImportService {
+
+    private static final String DEFAULT_ROLE = "ROLE_USER";
+    private static final String INSERT_PREFIX = "INSERT INTO User (username, password, email, role, createDate) VALUES ";
+    private static final String INSERT_ROW = "(?, ?, ?, ?, NOW())";
+    // 이미 있는 row는 바꾸지 않는다.
+    private static final String INSERT_SUFFIX = " ON DUPLICATE KEY UPDATE id = id";
+    private static final String COUNT_PREFIX = "SELECT COUNT(*) FROM User WHERE username IN (";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final PasswordEncoder passwordEncoder;
+    private final ObjectMapper objectMapper;
+    private final int batchSize;
+    private final int maxErrors;
+    private final Path spoolDirectory;
+    private final Duration jobRetention;
+    private final Duration failedFileTtl;
+    private final ForkJoinPool hashingPool;
+    // 가져오기는 DB 쓰기 부하가 크므로 한 번에 하나씩 실행한다.
+    private final ExecutorService jobExecutor;
+    private final Map<String, UserImportJob> jobs = new ConcurrentHashMap<>();
+
+    public UserImportService(
+            JdbcTemplate jdbcTemplate,
+            PasswordEncoder passwordEncoder,
+            ObjectMapper objectMapper,
+            @Value("${user-import.batch-size}") int batchSize,
+            @Value("${user-import.hashing-parallelism}") int hashingParallelism,
+            @Value("${user-import.max-errors}") int maxErrors,
+            @Value("${user-import.spool-dir}") Path spoolDirectory,
+            @Value("${user-import.job-retention}") Duration jobRetention,
+            @Value("${user-import.failed-file-ttl}") Duration failedFileTtl
+    ) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.passwordEncoder = passwordEncoder;
+        this.objectMapper = objectMapper;
+        this.batchSize = batchSize;
+        this.maxErrors = maxErrors;
+        this.spoolDirectory = spoolDirectory;
+        this.jobRetention = jobRetention;
+        this.failedFileTtl = failedFileTtl;
+        this.hashingPool = new ForkJoinPool(hashingParallelism > 0 ? hashingParallelism : Runtime.getRuntime().availableProcessors());
+        this.jobExecutor = Executors.newSingleThreadExecutor(new CustomizableThreadFactory("user-import-"));
+    }
+
+    /**
+     * 파일을 저장하고 가져오기를 시작한다.
+     * @param skipLines 이 줄까지는 건너뛴다. (서버 재시작 등으로 작업이 사라진 경우, 이전 작업의 committedLine을 넘겨서 이어서 가져온다.)
+     */
+    public UserImportJob submit(InputStream body, UserImportFormat format, long skipLines) throws IOException {
+        Files.createDirectories(spoolDirectory);
+        Path file = Files.createTempFile(spoolDirectory, "users-", ".import");
+        try (OutputStream out = Files.newOutputStream(file)) {
+            body.transferTo(out);
+        } catch (IOException e) {
+            Files.deleteIfExists(file);
+            throw e;
+        }
+        UserImportJob job = new UserImportJob(UUID.randomUUID().toString(), file, format, skipLines, maxErrors);
+        jobs.put(job.getId(), job);
+        jobExecutor.execute(() -> run(job));
+        log.info("회원 가져오기 시작 : id={}, format={}, size={}bytes", job.getId(), format, Files.size(file));
+        return job;
+    }
+
+    public Optional<UserImportJob> find(String id) {
+        return Optional.ofNullable(jobs.get(id));
+    }
+
+    /**
+     * 실패한 작업을 committedLine 다음 줄부터 다시 시작한다.
+     * @return 실패한 작업이 아니거나, 파일이 이미 지워졌으면 false
+     */
+    public boolean resume(UserImportJob job) {
+        synchronized (job) {
+            if (job.getStatus() != UserImportJob.Status.FAILED || !Files.exists(job.getFile())) {
+                return false;
+            }
+            job.queue();
+        }
+        jobExecutor.execute(() -> run(job));
+        log.info("회원 가져오기 재시작 : id={}, committedLine={}", job.getId(), job.getCommittedLine());
+        return true;
+    }
+
+    private void run(UserImportJob job) {
+        job.start();
+        try (UserImportReader reader = new UserImportReader(job.getFile(), job.getFormat(), objectMapper)) {
+            importAll(job, reader);
+            job.complete();
+            Files.deleteIfExists(job.getFile());
+            log.info("회원 가져오기 완료 : {}", job.snapshot());
+        } catch (Exception e) {
+            log.error("회원 가져오기 실패 : id={}, committedLine={}", job.getId(), job.getCommittedLine(), e);
+            job.fail(e.getMessage());
+        }
+    }
+
+    private void importAll(UserImportJob job, UserImportReader reader) throws IOException {
+        List<UserImportRecord> chunk = new ArrayList<>(batchSize);
+        ForkJoinTask<List<Object[]>> pending = null;
+        long pendingLastLine = 0;
+        while (true) {
+            UserImportRecord record = nextRecord(job, reader);
+            if (record != null) {
+                chunk.add(record);
+                if (chunk.size() < batchSize) {
+                    continue;
+                }
+            }
+            if (!chunk.isEmpty()) {
+                List<UserImportRecord> records = chunk;
+                ForkJoinTask<List<Object[]>> hashing = hashingPool.submit(() -> encode(records));
+                if (pending != null) {
+                    write(job, pending.join(), pendingLastLine);
+                }
+                pending = hashing;
+                pendingLastLine = records.get(records.size() - 1).line();
+                chunk = new ArrayList<>(batchSize);
+            }
+            if (record == null) {
+                break;
+            }
+        }
+        if (pending != null) {
+            write(job, pending.join(), pendingLastLine);
+        }
+    }
+
+    /**
+     * 커밋되지 않은 다음 회원을 읽는다. 형식이 잘못된 줄은 오류로 기록하고 건너뛴다.
+     */
+    private UserImportRecord nextRecord(UserImportJob job, UserImportReader reader) throws IOException {
+        while (true) {
+            try {
+                UserImportRecord record = reader.next();
+                if (record == null || record.line() > job.getCommittedLine()) {
+                    if (record != null) {
+                        job.read(record.line());
+                    }
+                    return record;
+                }
+            } catch (UserImportReader.InvalidRecordException e) {
+                if (e.getLine() > job.getCommittedLine()) {
+                    job.reject(e.getLine(), e.getMessage());
+                }
+            }
+        }
+    }
+
+    // ForkJoinPool 안에서 실행되므로 parallelStream도 hashingPool의 스레드를 사용한다.
+    private List<Object[]> encode(List<UserImportRecord> records) {
+        return records.parallelStream()
+                .map(record -> new Object[]{
+                        record.username(),
+                        record.isEncoded() ? record.encodedPassword() : passwordEncoder.encode(record.password()),
+                        record.email(),
+                        DEFAULT_ROLE
+                })
+                .toList();
+    }
+
+    private void write(UserImportJob job, List<Object[]> rows, long lastLine) {
+        String sql = INSERT_PREFIX + String.join(", ", Collections.nCopies(rows.size(), INSERT_ROW)) + INSERT_SUFFIX;
+        // ON DUPLICATE KEY UPDATE의 영향받은 row 수는 드라이버 설정(CLIENT_FOUND_ROWS)에 따라 중복도 1로 세므로,
+        // 저장 전후의 username 수로 새로 가입된 수를 센다. (가져오기는 한 번에 하나씩 실행됨)
+        Object[] usernames = rows.stream().map(row -> row[0]).toArray();
+        String countSql = COUNT_PREFIX + String.join(", ", Collections.nCopies(rows.size(), "?")) + ")";
+        long before = jdbcTemplate.queryForObject(countSql, Long.class, usernames);
+        // 한 문장이므로 묶음 단위로 모두 저장되거나 모두 저장되지 않는다.
+        jdbcTemplate.update(sql, ps -> {
+            int index = 1;
+            for (Object[] row : rows) {
+                for (Object value : row) {
+                    ps.setObject(index++, value);
+                }
+            }
+        });
+        long after = jdbcTemplate.queryForObject(countSql, Long.class, usernames);
+        job.commit(lastLine, rows.size(), (int) (after - before));
+    }
+
+    /**
+     * 끝난 작업과 남은 파일을 정리한다.
+     * - 실패한 작업의 파일은 failed-file-ttl이 지나면 지운다. (이후에는 다시 시작할 수 없음)
+     * - 끝난 작업은 job-retention이 지나면 목록에서 제거한다.
+     * - 서버 재시작 등으로 작업 없이 남은 파일도 failed-file-ttl이 지나면 지운다.
+     */
+    @Scheduled(fixedDelayString = "${user-import.cleanup-interval}", initialDelayString = "${user-import.cleanup-interval}")
+    public void cleanup() {
+        cleanup(Instant.now());
+    }
+
+    void cleanup(Instant now) {
+        Set<Path> files = new HashSet<>();
+        for (UserImportJob job : jobs.values()) {
+            // resume()과 동시에 실행되지 않도록 작업 단위로 잠근다.
+            synchronized (job) {
+                files.add(job.getFile());
+                UserImportJob.Status status = job.getStatus();
+                Instant finishedAt = job.getFinishedAt();
+                if (status == UserImportJob.Status.QUEUED || status == UserImportJob.Status.RUNNING || finishedAt == null) {
+                    continue;
+                }
+                if (status == UserImportJob.Status.FAILED && finishedAt.plus(failedFileTtl).isBefore(now)) {
+                    deleteFile(job.getFile());
+                }
+                if (finishedAt.plus(jobRetention).isBefore(now)) {
+                    jobs.remove(job.getId());
+                    log.info("회원 가져오기 작업 정리 : id={}, status={}", job.getId(), status);
+                }
+            }
+        }
+        deleteOrphanedFiles(files, now);
+    }
+
+    private void deleteOrphanedFiles(Set<Path> files, Instant now) {
+        if (!Files.isDirectory(spoolDirectory)) {
+            return;
+        }
+        try (Stream<Path> spooled = Files.list(spoolDirectory)) {
+            spooled.filter(file -> !files.contains(file))
+                    .filter(file -> lastModified(file).plus(failedFileTtl).isBefore(now))
+                    .forEach(this::deleteFile);
+        } catch (IOException e) {
+            log.warn("회원 가져오기 파일 목록을 읽지 못했습니다. : {}", spoolDirectory, e);
+        }
+    }
+
+    private Instant lastModified(Path file) {
+        try {
+            return Files.getLastModifiedTime(file).toInstant();
+        } catch (IOException e) {
+            return Instant.now();
+        }
+    }
+
+    private void deleteFile(Path file) {
+        try {
+            if (Files.deleteIfExists(file)) {
+                log.info("회원 가져오기 파일 삭제 : {}", file);
+            }
+        } catch (IOException e) {
+            log.warn("회원 가져오기 파일을 지우지 못했습니다. : {}", file, e);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        jobExecutor.shutdownNow();
+        hashingPool.shutdownNow();
+    }
+}
@@ -0,0 +1,50 @@
+package spring.study.security.domain.model;
+
+import jakarta.persistence.*;
+import lombok.AccessLevel;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.CreationTimestamp;
+
+import java.sql.Timestamp;
+
+/**
+ * 발급된 RefreshToken 한 건 (기기/세션마다 한 row)
+ * 토큰 원문 대신 고정 길이 SHA-256 해시를 저장하고, jti로 인덱스 조회한다.
+ */
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@Getter
+@Entity
+@Table(
+        name = "RefreshToken",
+        uniqueConstraints = {
+                @UniqueConstraint(name = "uk_refresh_token_jti", columnNames = "jti"),
+                @UniqueConstraint(name = "uk_refresh_token_hash", columnNames = "tokenHash")
+        },
+        indexes = @Index(name = "idx_refresh_token_user", columnList = "userId")
+)
+public class RefreshToken {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private long id;
+    @Column(nullable = false, length = 36)
+    private String jti;
+    @Column(nullable = false, columnDefinition = "char(64)")
+    private String tokenHash;
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
+    @JoinColumn(name = "userId", nullable = false)
+    private User user;
+    @Column(nullable = false)
+    private Timestamp expiresAt;
+    @CreationTimestamp
+    private Timestamp createDate;
+
+    @Builder
+    public RefreshToken(String jti, String tokenHash, User user, Timestamp expiresAt) {
+        this.jti = jti;
+        this.tokenHash = tokenHash;
+        this.user = user;
+        this.expiresAt = expiresAt;
+    }
+}
@@ -0,0 +1,44 @@
+package spring.study.security.domain.model;
+
+import jakarta.persistence.CollectionTable;
+import jakarta.persistence.Column;
+import jakarta.persistence.ElementCollection;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.JoinColumn;
+import jakarta.persistence.Table;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * 역할과 역할별 권한 (Role, RolePermission 테이블)
+ * 요청마다 조회하지 않고, RoleAuthorityRegistry가 역할별 권한 목록을 미리 계산해서 메모리에 둔다.
+ */
+@Entity
+@Table(name = "Role")
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+public class Role {
+
+    // ROLE_USER, ROLE_MANAGER, ROLE_ADMIN (User.role이 참조)
+    @Id
+    private String name;
+
+    // 이 역할이 포함하는 역할의 이름 (포함한 역할의 권한을 모두 가진다.)
+    private String inheritsFrom;
+
+    @ElementCollection
+    @CollectionTable(name = "RolePermission", joinColumns = @JoinColumn(name = "roleName"))
+    @Column(name = "permission")
+    private Set<String> permissions = new HashSet<>();
+
+    public Role(String name, String inheritsFrom, Set<String> permissions) {
+        this.name = name;
+        this.inheritsFrom = inheritsFrom;
+        this.permissions = new HashSet<>(permissions);
+    }
+}
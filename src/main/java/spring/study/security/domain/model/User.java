@@ -1,29 +1,55 @@
 package spring.study.security.domain.model;
 
+import jakarta.persistence.Cacheable;
+import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.hibernate.annotations.CreationTimestamp;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.hibernate.annotations.NaturalId;
+import org.hibernate.annotations.NaturalIdCache;
+import org.springframework.security.crypto.password.PasswordEncoder;
 
 import java.sql.Timestamp;
 
 @NoArgsConstructor(access = AccessLevel.PROTECTED)
 @Entity
+// 로그인/토큰 검증마다 username으로 조회하므로 2차 캐시(JCache/Caffeine)에 올려둔다. (캐시 크기, 만료 시간은 application.conf)
+// 엔티티 변경, JPQL 벌크 수정, User 테이블을 대상으로 한 네이티브 쿼리가 실행되면 Hibernate가 캐시를 갱신/무효화한다.
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "user")
+// username -> id 매핑 캐시
+@NaturalIdCache(region = "user-natural-id")
+@Table(
+        name = "User",
+        // 소셜 계정은 (provider, providerId)로 한 번만 가입된다. (INSERT ... ON DUPLICATE KEY UPDATE의 기준 키)
+        uniqueConstraints = @UniqueConstraint(name = "uk_user_provider", columnNames = {"provider", "providerId"})
+)
 @Data
 public class User {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private int id;
+    // 변경되지 않는 유일한 로그인 아이디 (unique index)
+    @NaturalId
+    @Column(nullable = false)
     private String username;
+    // 로그에 해시가 남지 않도록 toString()에서 제외
+    @ToString.Exclude
     private String password;
     private String email;
     private String role;
     private String provider;
     private String providerId;
-    private String refreshToken;
+    // 소셜 프로필 (로그인 후 비동기로 갱신)
+    private String nickname;
+    private String imageUrl;
     @CreationTimestamp
     private Timestamp createDate;
 
@@ -41,11 +67,12 @@ public class User {
         this.role = "ROLE_USER";
     }
 
-    public void updateRefreshToken(String updateRefreshToken) {
-        this.refreshToken = updateRefreshToken;
+    public void passwordEncode(PasswordEncoder passwordEncoder) {
+        this.password = passwordEncoder.encode(this.password);
     }
 
-    public void passwordEncode(BCryptPasswordEncoder bCryptPasswordEncoder) {
-        this.password = bCryptPasswordEncoder.encode(this.password);
+    // 로그인 시 다시 해싱된 비밀번호로 교체 (UserDetailsPasswordService)
+    public void updateEncodedPassword(String encodedPassword) {
+        this.password = encodedPassword;
     }
 }
\ No newline at end of file
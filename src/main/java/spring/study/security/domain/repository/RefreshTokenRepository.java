@@ -0,0 +1,20 @@
+package spring.study.security.domain.repository;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import spring.study.security.domain.model.RefreshToken;
+
+import java.sql.Timestamp;
+import java.util.Optional;
+
+public interface RefreshTokenRepository extends JpaRepository<RefreshToken, Long> {
+    // jti unique index를 통한 단건 조회
+    public Optional<RefreshToken> findByJti(String jti);
+
+    // 해시가 같고 만료되지 않은 토큰만 지우고, 지운 건수(0 또는 1)를 반환
+    @Modifying
+    @Query("delete from RefreshToken r where r.jti = :jti and r.tokenHash = :tokenHash and r.expiresAt > :now")
+    public int deleteByJti(@Param("jti") String jti, @Param("tokenHash") String tokenHash, @Param("now") Timestamp now);
+}
@@ -0,0 +1,13 @@
+package spring.study.security.domain.repository;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import spring.study.security.domain.model.Role;
+
+import java.util.List;
+
+public interface RoleRepository extends JpaRepository<Role, String> {
+    // 역할과 권한을 한 번의 쿼리로 조회 (RoleAuthorityRegistry의 캐시 갱신용)
+    @Query("select distinct r from Role r left join fetch r.permissions")
+    public List<Role> findAllWithPermissions();
+}
@@ -1,14 +1,38 @@
 package spring.study.security.domain.repository;
 
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import spring.study.security.domain.model.User;
 
 import java.util.Optional;
 
 // CRUD 함수를 JpaRepository가 들고 있음.
 // @Repository를 하지 않아도, JpaRepository에 있고 그걸 상속했기 때문에 괜찮음.
-public interface UserRepository extends JpaRepository<User, Integer> {
-    // findBy 규칙 -> select * from user where username = 1?
-    public Optional<User> findByUsername(String username); // JPA Query Methods
-    public Optional<User> findByRefreshToken(String refreshToken);
+// findByUsername은 2차 캐시를 사용하도록 UserRepositoryCustom에서 natural id로 조회한다.
+public interface UserRepository extends JpaRepository<User, Integer>, UserRepositoryCustom {
+    // uk_user_provider unique index를 통한 단건 조회
+    public Optional<User> findByProviderAndProviderId(String provider, String providerId);
+
+    // 소셜 계정 가입/갱신을 한 번의 쿼리로 처리 (조회 후 저장 사이에 동시 가입되는 경우가 없음)
+    // 이미 가입된 계정이면 Provider가 이메일을 내려준 경우에만 이메일을 갱신한다.
+    // 네이티브 쿼리는 어떤 테이블을 바꾸는지 알 수 없어 2차 캐시 전체를 비우므로, User 캐시만 무효화하도록 대상 테이블을 알려준다.
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "User"))
+    @Query(value = "INSERT INTO User (username, email, role, provider, providerId, createDate) " +
+            "VALUES (:username, :email, :role, :provider, :providerId, NOW()) " +
+            "ON DUPLICATE KEY UPDATE email = COALESCE(:email, email)", nativeQuery = true)
+    public int upsertOAuth2User(@Param("username") String username,
+                                @Param("email") String email,
+                                @Param("role") String role,
+                                @Param("provider") String provider,
+                                @Param("providerId") String providerId);
+
+    @Modifying
+    @Query("update User u set u.nickname = :nickname, u.imageUrl = :imageUrl where u.id = :id")
+    public int updateProfile(@Param("id") int id, @Param("nickname") String nickname, @Param("imageUrl") String imageUrl);
 }
@@ -0,0 +1,10 @@
+package spring.study.security.domain.repository;
+
+import spring.study.security.domain.model.User;
+
+import java.util.Optional;
+
+public interface UserRepositoryCustom {
+    // username(natural id)으로 조회 -> 2차 캐시에 있으면 DB를 조회하지 않음
+    public Optional<User> findByUsername(String username);
+}
@@ -0,0 +1,28 @@
+package spring.study.security.domain.repository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.Session;
+import org.springframework.transaction.annotation.Transactional;
+import spring.study.security.domain.model.User;
+
+import java.util.Optional;
+
+/**
+ * 파생 쿼리(findByUsername)는 매번 select 쿼리를 실행하므로, Hibernate의 natural id API로 조회한다.
+ * username -> id는 natural id 캐시(user-natural-id)에서, id -> User는 엔티티 캐시(user)에서 찾고, 둘 다 있으면 DB를 조회하지 않는다.
+ */
+public class UserRepositoryCustomImpl implements UserRepositoryCustom {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    // JWT 필터처럼 트랜잭션(영속성 컨텍스트) 밖에서 호출되어도 Session을 사용할 수 있도록 읽기 전용 트랜잭션을 연다.
+    @Override
+    @Transactional(readOnly = true)
+    public Optional<User> findByUsername(String username) {
+        return entityManager.unwrap(Session.class)
+                .bySimpleNaturalId(User.class)
+                .loadOptional(username);
+    }
+}
@@ -0,0 +1,100 @@
+package spring.study.security.domain.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.apache.coyote.BadRequestException;
+import org.hibernate.exception.ConstraintViolationException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+import spring.study.security.domain.dto.UserDto;
+import spring.study.security.domain.model.User;
+import spring.study.security.domain.repository.UserRepository;
+import spring.study.security.global.login.executor.PasswordHashingExecutor;
+
+import java.util.Locale;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * 일반 회원 가입
+ * 중복 확인(조회)을 따로 하지 않고 INSERT 한 번만 실행해서, username unique index(uk_user_username) 위반을 중복 가입으로 처리한다.
+ * 그 외의 제약조건 위반(NOT NULL, 길이 초과, fk_user_role 등)은 요청이 아닌 서버 문제이므로 그대로 던진다.
+ * 조회 후 저장하는 방식과 달리 동시에 같은 username으로 가입해도 한 명만 가입된다.
+ * 비밀번호 해싱은 로그인과 같은 PasswordHashingExecutor에서 처리하므로, 가입 요청이 몰려도 해싱에 쓰는 CPU는 스레드풀 크기로 제한된다.
+ */
+@Slf4j
+@Service
+public class UserService {
+
+    private static final String USERNAME_UNIQUE_KEY = "uk_user_username";
+
+    private final UserRepository userRepository;
+    private final PasswordEncoder passwordEncoder;
+    private final PasswordHashingExecutor passwordHashingExecutor;
+    private final long hashingTimeoutMillis;
+
+    public UserService(
+            UserRepository userRepository,
+            PasswordEncoder passwordEncoder,
+            PasswordHashingExecutor passwordHashingExecutor,
+            @Value("${login.async.timeout-millis}") long hashingTimeoutMillis
+    ) {
+        this.userRepository = userRepository;
+        this.passwordEncoder = passwordEncoder;
+        this.passwordHashingExecutor = passwordHashingExecutor;
+        this.hashingTimeoutMillis = hashingTimeoutMillis;
+    }
+
+    /**
+     * @throws BadRequestException 이미 가입된 username인 경우
+     * @throws RejectedExecutionException 해싱 스레드풀의 대기열이 가득 찼거나, 제한 시간 안에 해싱이 끝나지 않은 경우
+     */
+    public User join(UserDto userDto) throws BadRequestException {
+        User user = User.builder()
+                .username(userDto.getUsername())
+                .password(hashPassword(userDto.getPassword()))
+                .email(userDto.getEmail())
+                .build();
+        user.authorizeUser();
+        try {
+            return userRepository.saveAndFlush(user);
+        } catch (DataIntegrityViolationException e) {
+            if (!isDuplicateUsername(e)) {
+                throw e;
+            }
+            log.debug("중복 가입 요청 : {}", userDto.getUsername());
+            throw new BadRequestException("이미 가입된 유저입니다.");
+        }
+    }
+
+    /**
+     * 위반한 제약조건 이름으로 username 중복인지 확인한다.
+     * DB마다 이름 형식이 달라서(MySQL은 User.uk_user_username처럼 테이블 이름이 붙음) 포함 여부로 비교한다.
+     */
+    private static boolean isDuplicateUsername(DataIntegrityViolationException e) {
+        return e.getCause() instanceof ConstraintViolationException violation
+                && violation.getConstraintName() != null
+                && violation.getConstraintName().toLowerCase(Locale.ROOT).contains(USERNAME_UNIQUE_KEY);
+    }
+
+    private String hashPassword(String rawPassword) {
+        // 대기열이 가득 차면 supplyAsync에서 RejectedExecutionException이 발생한다.
+        CompletableFuture<String> encoded = CompletableFuture.supplyAsync(
+                () -> passwordEncoder.encode(rawPassword), passwordHashingExecutor::execute);
+        try {
+            return encoded.get(hashingTimeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            encoded.cancel(false);
+            throw new RejectedExecutionException("비밀번호 해싱 시간이 초과되었습니다.", e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RejectedExecutionException("비밀번호 해싱이 중단되었습니다.", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("비밀번호 해싱에 실패했습니다.", e.getCause());
+        }
+    }
+}
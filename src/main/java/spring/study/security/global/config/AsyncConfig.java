@@ -0,0 +1,9 @@
+package spring.study.security.global.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableAsync;
+
+@Configuration
+@EnableAsync // @Async 작업 (소셜 프로필 갱신 등), spring.threads.virtual.enabled=true면 Virtual Thread에서 실행
+public class AsyncConfig {
+}
@@ -0,0 +1,99 @@
+package spring.study.security.global.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.httpcomponents.hc5.PoolingHttpClientConnectionManagerMetricsBinder;
+import org.apache.hc.client5.http.config.ConnectionConfig;
+import org.apache.hc.client5.http.config.RequestConfig;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.classic.HttpClients;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManagerBuilder;
+import org.apache.hc.core5.util.TimeValue;
+import org.apache.hc.core5.util.Timeout;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.http.converter.FormHttpMessageConverter;
+import org.springframework.security.oauth2.client.endpoint.DefaultAuthorizationCodeTokenResponseClient;
+import org.springframework.security.oauth2.client.endpoint.OAuth2AccessTokenResponseClient;
+import org.springframework.security.oauth2.client.endpoint.OAuth2AuthorizationCodeGrantRequest;
+import org.springframework.security.oauth2.client.http.OAuth2ErrorResponseErrorHandler;
+import org.springframework.security.oauth2.core.http.converter.OAuth2AccessTokenResponseHttpMessageConverter;
+import org.springframework.web.client.RestTemplate;
+
+/**
+ * OAuth2 Provider(Google 등) 호출용 HTTP Client 설정
+ * Spring Security의 기본 구현은 요청마다 커넥션 풀과 타임아웃이 없는 RestTemplate을 사용하므로,
+ * Provider 응답이 느리면 요청 스레드가 무한정 대기한다.
+ * 토큰 발급(code -> AccessToken)과 userinfo 조회가 하나의 커넥션 풀을 공유하고,
+ * 동시 호출 수는 풀 크기(max-connections)로 제한한다. (풀이 가득 차면 connection-request-timeout만큼만 대기)
+ * 풀 상태는 httpcomponents.httpclient.pool.* 지표(httpclient=oauth2)로 노출된다.
+ */
+@Configuration
+public class OAuth2ClientConfig {
+
+    @Value("${oauth2.client.http.max-connections}")
+    private int maxConnections;
+    @Value("${oauth2.client.http.connect-timeout-millis}")
+    private long connectTimeoutMillis;
+    @Value("${oauth2.client.http.response-timeout-millis}")
+    private long responseTimeoutMillis;
+    @Value("${oauth2.client.http.connection-request-timeout-millis}")
+    private long connectionRequestTimeoutMillis;
+    @Value("${oauth2.client.http.keep-alive-millis}")
+    private long keepAliveMillis;
+
+    @Bean(destroyMethod = "close")
+    public CloseableHttpClient oAuth2HttpClient(MeterRegistry meterRegistry) {
+        PoolingHttpClientConnectionManager connectionManager = PoolingHttpClientConnectionManagerBuilder.create()
+                .setMaxConnTotal(maxConnections)
+                .setMaxConnPerRoute(maxConnections)
+                .setDefaultConnectionConfig(ConnectionConfig.custom()
+                        .setConnectTimeout(Timeout.ofMilliseconds(connectTimeoutMillis))
+                        .setSocketTimeout(Timeout.ofMilliseconds(responseTimeoutMillis))
+                        .build())
+                .build();
+        new PoolingHttpClientConnectionManagerMetricsBinder(connectionManager, "oauth2").bindTo(meterRegistry);
+
+        return HttpClients.custom()
+                .setConnectionManager(connectionManager)
+                .setDefaultRequestConfig(RequestConfig.custom()
+                        .setConnectionRequestTimeout(Timeout.ofMilliseconds(connectionRequestTimeoutMillis))
+                        .setResponseTimeout(Timeout.ofMilliseconds(responseTimeoutMillis))
+                        // 서버가 Keep-Alive 시간을 알려주지 않으면 이 시간 동안 커넥션을 재사용한다.
+                        .setConnectionKeepAlive(TimeValue.ofMilliseconds(keepAliveMillis))
+                        .build())
+                .evictExpiredConnections()
+                .evictIdleConnections(TimeValue.ofMilliseconds(keepAliveMillis))
+                .build();
+    }
+
+    /**
+     * userinfo 조회용 (DefaultOAuth2UserService)
+     */
+    @Bean
+    public RestTemplate oAuth2UserInfoRestTemplate(RestTemplateBuilder restTemplateBuilder, CloseableHttpClient oAuth2HttpClient) {
+        return restTemplateBuilder
+                .requestFactory(() -> new HttpComponentsClientHttpRequestFactory(oAuth2HttpClient))
+                .errorHandler(new OAuth2ErrorResponseErrorHandler())
+                .build();
+    }
+
+    /**
+     * Authorization Code로 AccessToken을 발급받을 때 사용 (DefaultAuthorizationCodeTokenResponseClient)
+     */
+    @Bean
+    public OAuth2AccessTokenResponseClient<OAuth2AuthorizationCodeGrantRequest> oAuth2AccessTokenResponseClient(
+            RestTemplateBuilder restTemplateBuilder, CloseableHttpClient oAuth2HttpClient) {
+        RestTemplate restTemplate = restTemplateBuilder
+                .requestFactory(() -> new HttpComponentsClientHttpRequestFactory(oAuth2HttpClient))
+                .messageConverters(new FormHttpMessageConverter(), new OAuth2AccessTokenResponseHttpMessageConverter())
+                .errorHandler(new OAuth2ErrorResponseErrorHandler())
+                .build();
+        DefaultAuthorizationCodeTokenResponseClient accessTokenResponseClient = new DefaultAuthorizationCodeTokenResponseClient();
+        accessTokenResponseClient.setRestOperations(restTemplate);
+        return accessTokenResponseClient;
+    }
+}
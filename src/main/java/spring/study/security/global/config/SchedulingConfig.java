@@ -0,0 +1,9 @@
+package spring.study.security.global.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+@Configuration
+@EnableScheduling // @Scheduled 작업 (JWT 서명키 교체 등)
+public class SchedulingConfig {
+}
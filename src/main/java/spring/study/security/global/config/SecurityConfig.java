@@ -1,47 +1,89 @@
 package spring.study.security.global.config;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.ProviderManager;
-import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.annotation.web.configurers.AbstractHttpConfigurer;
 import org.springframework.security.config.annotation.web.configurers.HeadersConfigurer;
 import org.springframework.security.config.http.SessionCreationPolicy;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.security.oauth2.client.endpoint.OAuth2AccessTokenResponseClient;
+import org.springframework.security.oauth2.client.endpoint.OAuth2AuthorizationCodeGrantRequest;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.logout.LogoutFilter;
 import spring.study.security.domain.repository.UserRepository;
+import spring.study.security.global.jwt.cache.VerifiedTokenCache;
 import spring.study.security.global.jwt.filter.JwtAuthenticationProcessingFilter;
+import spring.study.security.global.jwt.revocation.TokenDenylist;
 import spring.study.security.global.jwt.service.JwtService;
+import spring.study.security.global.logging.LogSampler;
+import spring.study.security.global.login.authority.RoleAuthorityRegistry;
+import spring.study.security.global.login.executor.PasswordHashingExecutor;
 import spring.study.security.global.login.filter.CustomJsonUsernamePasswordAuthenticationFilter;
 import spring.study.security.global.login.handler.LoginFailureHandler;
 import spring.study.security.global.login.handler.LoginSuccessHandler;
+import spring.study.security.global.login.parser.LoginRequestParser;
+import spring.study.security.global.login.password.AdaptivePasswordEncoder;
+import spring.study.security.global.login.provider.UserPrincipalAuthenticationProvider;
+import spring.study.security.global.login.ratelimit.LoginRateLimiter;
 import spring.study.security.global.login.service.PrincipalDetailsService;
+import spring.study.security.global.metrics.AuthMetrics;
+import spring.study.security.global.metrics.TimedPasswordEncoder;
 import spring.study.security.global.oauth2.handler.OAuth2LoginFailureHandler;
 import spring.study.security.global.oauth2.handler.OAuth2LoginSuccessHandler;
 import spring.study.security.global.oauth2.service.CustomOAuth2UserService;
+import spring.study.security.global.route.SecurityRouteTable;
+import spring.study.security.global.route.SecurityRoutes;
+
+import java.time.Duration;
 
 @Configuration
 @EnableWebSecurity // Spring Security Filter(SecurityConfig를 의미함)가 Spring Filter Chain에 등록됩니다.
 @RequiredArgsConstructor
 public class SecurityConfig {
 
-    private final ObjectMapper objectMapper;
+    private final LoginRequestParser loginRequestParser;
+    private final LoginRateLimiter loginRateLimiter;
     private final UserRepository userRepository;
     private final JwtService jwtService;
+    private final VerifiedTokenCache verifiedTokenCache;
+    private final TokenDenylist tokenDenylist;
     private final PrincipalDetailsService principalDetailsService;
+    private final RoleAuthorityRegistry roleAuthorityRegistry;
     private final CustomOAuth2UserService customOAuth2UserService;
     private final OAuth2LoginSuccessHandler oAuth2LoginSuccessHandler;
     private final OAuth2LoginFailureHandler oAuth2LoginFailureHandler;
+    private final OAuth2AccessTokenResponseClient<OAuth2AuthorizationCodeGrantRequest> oAuth2AccessTokenResponseClient;
+    private final PasswordHashingExecutor passwordHashingExecutor;
+    private final AuthMetrics authMetrics;
+    private final LogSampler logSampler;
+
+    @Value("${login.async.enabled}")
+    private boolean asyncLogin;
+    @Value("${login.async.retry-after-seconds}")
+    private long retryAfterSeconds;
+    @Value("${login.async.timeout-millis}")
+    private long asyncTimeoutMillis;
+    @Value("${login.password.algorithm}")
+    private AdaptivePasswordEncoder.Algorithm passwordAlgorithm;
+    @Value("${login.password.target-millis}")
+    private long passwordTargetMillis;
+    @Value("${login.password.min-cost}")
+    private int passwordMinCost;
+    @Value("${login.password.cost}")
+    private int passwordCost;
+    @Value("${login.password.pbkdf2-iterations}")
+    private int pbkdf2Iterations;
 
     @Bean
-    public BCryptPasswordEncoder bCryptPasswordEncoder() {
-        return new BCryptPasswordEncoder();
+    public PasswordEncoder passwordEncoder() {
+        // 서버 시작 시 비밀번호 검증 시간이 target-millis에 가깝도록 해시 cost를 측정합니다. (cost를 지정하면 측정하지 않음)
+        return AdaptivePasswordEncoder.calibrate(passwordAlgorithm, Duration.ofMillis(passwordTargetMillis), passwordMinCost, passwordCost, pbkdf2Iterations);
     }
 
     @Bean
@@ -52,12 +94,8 @@ public class SecurityConfig {
         http
             .sessionManagement(manager -> manager.sessionCreationPolicy(SessionCreationPolicy.STATELESS));
         http
-            .authorizeHttpRequests(authorize -> authorize
-                .requestMatchers("/user/**").authenticated()
-                .requestMatchers("/manager/**").hasAnyRole("ADMIN", "MANAGER")
-                .requestMatchers("/admin/**").hasRole("ADMIN")
-                .anyRequest().permitAll()
-        );
+            // URL별 접근 규칙은 SecurityRoutes에서 관리합니다. (JwtAuthenticationProcessingFilter의 공개 경로 판단과 공유)
+            .authorizeHttpRequests(SecurityRoutes::applyTo);
         http.formLogin(AbstractHttpConfigurer::disable);
 //        http.formLogin(form -> form
 //                .loginPage("/loginForm")
@@ -68,6 +106,7 @@ public class SecurityConfig {
                 .loginPage("/loginForm")
                 .successHandler(oAuth2LoginSuccessHandler)
                 .failureHandler(oAuth2LoginFailureHandler)
+                .tokenEndpoint(token -> token.accessTokenResponseClient(oAuth2AccessTokenResponseClient))
                 .userInfoEndpoint(userInfo -> userInfo.userService(customOAuth2UserService))
         );
         // 순서 : LogoutFilter -> JwtAuthenticationProcessingFilter -> CustomJsonUsernamePasswordAuthenticationFilter
@@ -78,34 +117,46 @@ public class SecurityConfig {
 
     @Bean
     public LoginSuccessHandler loginSuccessHandler() {
-        return new LoginSuccessHandler(jwtService, userRepository);
+        return new LoginSuccessHandler(jwtService, loginRateLimiter, logSampler);
     }
 
     @Bean
     public LoginFailureHandler loginFailureHandler() {
-        return new LoginFailureHandler();
+        return new LoginFailureHandler(loginRateLimiter, authMetrics);
     }
 
 
     @Bean
     public AuthenticationManager authenticationManager() {
-        DaoAuthenticationProvider provider = new DaoAuthenticationProvider();
-        provider.setPasswordEncoder(bCryptPasswordEncoder());
+        // 인증 객체에는 password를 뺀 UserPrincipal을 넣습니다.
+        UserPrincipalAuthenticationProvider provider = new UserPrincipalAuthenticationProvider();
+        // 로그인 시 비밀번호 비교 시간을 auth.password.match 지표로 기록합니다.
+        provider.setPasswordEncoder(new TimedPasswordEncoder(passwordEncoder(), authMetrics));
         provider.setUserDetailsService(principalDetailsService);
+        // 저장된 해시의 알고리즘/cost가 현재 설정과 다르면 로그인 성공 시 다시 해싱해서 저장합니다.
+        provider.setUserDetailsPasswordService(principalDetailsService);
         return new ProviderManager(provider);
     }
 
     @Bean
     public CustomJsonUsernamePasswordAuthenticationFilter customJsonUsernamePasswordAuthenticationFilter() {
-        CustomJsonUsernamePasswordAuthenticationFilter authenticationFilter = new CustomJsonUsernamePasswordAuthenticationFilter(objectMapper);
+        CustomJsonUsernamePasswordAuthenticationFilter authenticationFilter = new CustomJsonUsernamePasswordAuthenticationFilter(loginRequestParser, loginRateLimiter);
         authenticationFilter.setAuthenticationManager(authenticationManager());
         authenticationFilter.setAuthenticationSuccessHandler(loginSuccessHandler());
         authenticationFilter.setAuthenticationFailureHandler(loginFailureHandler());
+        if (asyncLogin) {
+            authenticationFilter.setLoginExecutor(passwordHashingExecutor::execute, retryAfterSeconds, asyncTimeoutMillis);
+        }
         return authenticationFilter;
     }
 
+    @Bean
+    public SecurityRouteTable securityRouteTable() {
+        return SecurityRoutes.table();
+    }
+
     @Bean
     public JwtAuthenticationProcessingFilter jwtAuthenticationProcessingFilter() {
-        return new JwtAuthenticationProcessingFilter(jwtService, userRepository);
+        return new JwtAuthenticationProcessingFilter(jwtService, userRepository, verifiedTokenCache, tokenDenylist, authMetrics, securityRouteTable(), roleAuthorityRegistry);
     }
 }
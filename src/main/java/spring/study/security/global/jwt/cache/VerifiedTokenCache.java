@@ -0,0 +1,94 @@
+package spring.study.security.global.jwt.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import spring.study.security.global.jwt.dto.TokenVerification;
+import spring.study.security.global.jwt.util.TokenDigests;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 이미 검증된 AccessToken의 결과를 보관하는 캐시
+ * 같은 토큰이 반복해서 들어오면 서명 검증(HMAC)과 JSON 파싱을 생략한다.
+ * 키는 토큰 원문이 아닌 SHA-256 다이제스트이고, 각 엔트리는 토큰의 exp 시점 또는 최대 크기 초과 시 제거된다.
+ * hit / miss / eviction 통계는 cache.* 지표(cache=verifiedToken)로 노출된다.
+ */
+@Component
+public class VerifiedTokenCache {
+
+    private final boolean enabled;
+    private final Cache<String, TokenVerification> cache;
+
+    public VerifiedTokenCache(
+            @Value("${jwt.cache.enabled}") boolean enabled,
+            @Value("${jwt.cache.maximum-size}") long maximumSize,
+            MeterRegistry meterRegistry
+    ) {
+        this.enabled = enabled;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfter(new ExpireAtTokenExpiration())
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "verifiedToken");
+    }
+
+    /**
+     * 캐시에 검증 결과가 있으면 반환하고, 없으면 null을 반환한다.
+     */
+    public TokenVerification get(String token) {
+        if (!enabled) {
+            return null;
+        }
+        return cache.getIfPresent(TokenDigests.sha256(token));
+    }
+
+    /**
+     * 검증에 성공했고 아직 만료되지 않은 결과만 캐시에 넣는다.
+     */
+    public void put(String token, TokenVerification verification) {
+        if (!enabled || !verification.isValid() || verification.getExpiration() == null) {
+            return;
+        }
+        cache.put(TokenDigests.sha256(token), verification);
+    }
+
+    public void invalidateAll() {
+        cache.invalidateAll();
+    }
+
+    /**
+     * hit / miss / eviction 통계
+     */
+    public CacheStats stats() {
+        return cache.stats();
+    }
+
+    /**
+     * 엔트리의 수명을 토큰의 exp까지 남은 시간으로 맞춘다.
+     */
+    private static class ExpireAtTokenExpiration implements Expiry<String, TokenVerification> {
+
+        @Override
+        public long expireAfterCreate(String key, TokenVerification value, long currentTime) {
+            long remainingMillis = value.getExpiration().getTime() - System.currentTimeMillis();
+            return TimeUnit.MILLISECONDS.toNanos(Math.max(remainingMillis, 0));
+        }
+
+        @Override
+        public long expireAfterUpdate(String key, TokenVerification value, long currentTime, long currentDuration) {
+            return expireAfterCreate(key, value, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(String key, TokenVerification value, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
@@ -0,0 +1,54 @@
+package spring.study.security.global.jwt.controller;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+import spring.study.security.global.jwt.key.JwtKeyRing;
+
+import java.time.Duration;
+
+/**
+ * 토큰 검증용 공개키 목록(JWKS)을 제공한다.
+ * 다른 서비스는 이 공개키를 캐시해두고, 인증 서버를 거치지 않고 토큰을 직접 검증할 수 있다.
+ */
+@RestController
+public class JwksController {
+
+    private final JwtKeyRing jwtKeyRing;
+    // JwtKeyRing은 이 시간 이상 공개한 키로만 서명한다.
+    private final CacheControl cacheControl;
+
+    public JwksController(JwtKeyRing jwtKeyRing, @Value("${jwt.keys.jwks-max-age}") Duration jwksMaxAge) {
+        this.jwtKeyRing = jwtKeyRing;
+        this.cacheControl = CacheControl.maxAge(jwksMaxAge).cachePublic();
+    }
+
+    @GetMapping("/.well-known/jwks.json")
+    public ResponseEntity<byte[]> jwks(WebRequest request) {
+        String etag = jwtKeyRing.getJwksEtag();
+        // If-None-Match의 목록("a", "b"), 약한 비교(W/"...")는 Spring에 맡긴다.
+        // Spring 6.1은 GET 요청의 *를 일치로 보지 않으므로, JWKS는 항상 존재하니 따로 304로 처리한다.
+        if (request.checkNotModified(etag) || isAnyEtag(request.getHeader(HttpHeaders.IF_NONE_MATCH))) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                    .eTag(etag)
+                    .cacheControl(cacheControl)
+                    .build();
+        }
+        // 키가 바뀔 때 미리 만들어둔 바이트를 그대로 응답 (요청마다 JSON 직렬화 X)
+        return ResponseEntity.ok()
+                .eTag(etag)
+                .cacheControl(cacheControl)
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(jwtKeyRing.getJwks());
+    }
+
+    private static boolean isAnyEtag(String ifNoneMatch) {
+        return ifNoneMatch != null && ifNoneMatch.trim().equals("*");
+    }
+}
@@ -0,0 +1,65 @@
+package spring.study.security.global.jwt.controller;
+
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RestController;
+import spring.study.security.domain.dto.TokenDto;
+import spring.study.security.global.jwt.dto.TokenVerification;
+import spring.study.security.global.jwt.revocation.TokenRevocationService;
+import spring.study.security.global.jwt.service.JwtService;
+
+/**
+ * 로그아웃 (/user/** 이므로 유효한 AccessToken이 필요)
+ * Authorization-Refresh 헤더가 있으면 JwtAuthenticationProcessingFilter가 재발급 요청으로 처리하므로,
+ * 함께 폐기할 RefreshToken은 Body({"token": "..."})로 받는다.
+ */
+@RestController
+public class LogoutController {
+
+    private final JwtService jwtService;
+    private final TokenRevocationService tokenRevocationService;
+
+    public LogoutController(JwtService jwtService, TokenRevocationService tokenRevocationService) {
+        this.jwtService = jwtService;
+        this.tokenRevocationService = tokenRevocationService;
+    }
+
+    /**
+     * 현재 AccessToken과 Body의 RefreshToken을 폐기한다.
+     */
+    @PostMapping("/user/logout")
+    public ResponseEntity<Void> logout(HttpServletRequest request, @RequestBody(required = false) TokenDto refreshToken) {
+        TokenVerification verification = verifyAccessToken(request);
+        if (verification == null) {
+            return ResponseEntity.badRequest().build();
+        }
+        tokenRevocationService.revoke(verification);
+        if (refreshToken != null && refreshToken.getToken() != null) {
+            jwtService.deleteRefreshToken(refreshToken.getToken(), verification.getUserId());
+        }
+        return ResponseEntity.noContent().build();
+    }
+
+    /**
+     * 지금까지 발급된 모든 AccessToken / RefreshToken을 폐기한다. (모든 기기에서 로그아웃)
+     */
+    @PostMapping("/user/logout/all")
+    public ResponseEntity<Void> logoutAll(HttpServletRequest request) {
+        TokenVerification verification = verifyAccessToken(request);
+        if (verification == null) {
+            return ResponseEntity.badRequest().build();
+        }
+        tokenRevocationService.revokeAll(verification.getUserId());
+        return ResponseEntity.noContent().build();
+    }
+
+    // id claim이 없는 이전 토큰은 폐기할 회원을 알 수 없으므로 null
+    private TokenVerification verifyAccessToken(HttpServletRequest request) {
+        return jwtService.extractAccessToken(request)
+                .map(jwtService::verifyAccessToken)
+                .filter(verification -> verification.isValid() && verification.getUserId() != null)
+                .orElse(null);
+    }
+}
@@ -0,0 +1,19 @@
+package spring.study.security.global.jwt.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.Instant;
+
+/**
+ * 새로 발급한 RefreshToken과 발급 시 넣은 jti, 만료시각
+ * 저장소에 저장할 때 방금 서명한 토큰을 다시 파싱(검증)하지 않기 위해 함께 돌려준다.
+ */
+@Getter
+@AllArgsConstructor
+public class IssuedRefreshToken {
+
+    private final String token;
+    private final String jti;
+    private final Instant expiresAt;
+}
@@ -0,0 +1,66 @@
+package spring.study.security.global.jwt.dto;
+
+import io.jsonwebtoken.Claims;
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.Date;
+
+/**
+ * JWT를 한 번만 파싱(서명 검증 + Payload 디코딩)한 결과
+ * 검증에 성공하면 Payload의 필요한 값들을, 실패하면 실패 사유를 담는다.
+ */
+@Getter
+@AllArgsConstructor(access = AccessLevel.PRIVATE)
+public class TokenVerification {
+
+    public enum FailureReason {
+        EXPIRED,        // exp가 지난 토큰
+        INVALID,        // 서명 불일치, 형식 오류 등
+        UNSUPPORTED,    // 서명되지 않은 토큰 등 지원하지 않는 형식
+        EMPTY,          // 빈 문자열
+        WRONG_TYPE,     // 서명은 유효하지만 다른 종류의 토큰 (AccessToken 자리에 RefreshToken 등)
+    }
+
+    private final Integer userId;
+    private final String username;
+    private final String role;
+    private final String subject;
+    private final String jti;
+    private final Date issuedAt;
+    private final Date expiration;
+    private final FailureReason failureReason;
+
+    /**
+     * issuedAt은 밀리초 단위 발급 시각 claim을 우선 사용한다. (없는 이전 토큰은 초 단위 iat)
+     */
+    public static TokenVerification success(Claims claims, String idClaim, String nameClaim, String roleClaim, String issuedAtMillisClaim) {
+        Long issuedAtMillis = claims.get(issuedAtMillisClaim, Long.class);
+        return new TokenVerification(
+                claims.get(idClaim, Integer.class),
+                claims.get(nameClaim, String.class),
+                claims.get(roleClaim, String.class),
+                claims.getSubject(),
+                claims.getId(),
+                issuedAtMillis != null ? new Date(issuedAtMillis) : claims.getIssuedAt(),
+                claims.getExpiration(),
+                null
+        );
+    }
+
+    public static TokenVerification failure(FailureReason failureReason) {
+        return new TokenVerification(null, null, null, null, null, null, null, failureReason);
+    }
+
+    public boolean isValid() {
+        return failureReason == null;
+    }
+
+    /**
+     * Claim만으로 인증 객체를 만들 수 있는지 여부 (id, role claim이 없는 이전 토큰은 DB 조회가 필요)
+     */
+    public boolean hasPrincipalClaims() {
+        return isValid() && userId != null && username != null && role != null;
+    }
+}
@@ -8,95 +8,164 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
-import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.web.filter.OncePerRequestFilter;
 import spring.study.security.domain.model.User;
 import spring.study.security.domain.repository.UserRepository;
+import spring.study.security.global.jwt.cache.VerifiedTokenCache;
+import spring.study.security.global.jwt.dto.TokenVerification;
+import spring.study.security.global.jwt.revocation.TokenDenylist;
 import spring.study.security.global.jwt.service.JwtService;
+import spring.study.security.global.login.authority.RoleAuthorityRegistry;
+import spring.study.security.global.login.dto.UserPrincipal;
+import spring.study.security.global.metrics.AuthMetrics;
+import spring.study.security.global.metrics.AuthMetrics.FilterOutcome;
+import spring.study.security.global.route.SecurityRouteTable;
 
 import java.io.IOException;
+import java.util.concurrent.TimeUnit;
 
 @Slf4j
 public class JwtAuthenticationProcessingFilter extends OncePerRequestFilter {
 
     private final JwtService jwtService;
     private final UserRepository userRepository;
-    private static final String NO_CHECK_URL = "/login";
-
-    public JwtAuthenticationProcessingFilter(JwtService jwtService, UserRepository userRepository) {
+    private final VerifiedTokenCache verifiedTokenCache;
+    private final TokenDenylist tokenDenylist;
+    private final AuthMetrics authMetrics;
+    // 공개(permitAll) 경로 판단용, SecurityConfig의 authorizeHttpRequests와 같은 SecurityRoutes로 만든다.
+    private final SecurityRouteTable routeTable;
+    private final RoleAuthorityRegistry roleAuthorityRegistry;
+
+    public JwtAuthenticationProcessingFilter(JwtService jwtService, UserRepository userRepository, VerifiedTokenCache verifiedTokenCache, TokenDenylist tokenDenylist, AuthMetrics authMetrics, SecurityRouteTable routeTable, RoleAuthorityRegistry roleAuthorityRegistry) {
         this.jwtService = jwtService;
         this.userRepository = userRepository;
+        this.verifiedTokenCache = verifiedTokenCache;
+        this.tokenDenylist = tokenDenylist;
+        this.authMetrics = authMetrics;
+        this.routeTable = routeTable;
+        this.roleAuthorityRegistry = roleAuthorityRegistry;
+    }
+
+    /**
+     * 공개 경로(/, /loginForm, /login, /oauth2/** 등)는 인증 정보가 필요 없으므로 토큰을 확인하지 않습니다.
+     * 단, RefreshToken Header가 있으면 재발급 요청이므로 경로와 상관없이 처리합니다.
+     */
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return routeTable.isPublic(request) && request.getHeader(jwtService.getRefreshHeader()) == null;
     }
 
     @Override
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain) throws ServletException, IOException {
-        log.info("JwtAuthenticationProcessingFilter() 호출 : {}", request.getRequestURI());
-        if (request.getRequestURI().equals(NO_CHECK_URL)){
-            log.info("URL PASS");
+        // 처리 시간은 결과별로 auth.jwt.filter 지표에 기록합니다. (다음 필터의 실행 시간은 제외)
+        long start = System.nanoTime();
+
+        // 토큰 Header가 하나도 없으면 추출/파싱 없이 바로 다음 필터로 넘깁니다.
+        if (request.getHeader(jwtService.getAccessHeader()) == null && request.getHeader(jwtService.getRefreshHeader()) == null) {
+            record(FilterOutcome.NO_TOKEN, start);
             filterChain.doFilter(request, response);
             return;
         }
+        log.debug("JwtAuthenticationProcessingFilter() 호출 : {}", request.getRequestURI());
 
-        // 요청헤더에서 RefreshToken을 추출합니다.
-        String refreshToken = jwtService.extractRefreshToken(request)
-                .filter(jwtService::isTokenValid)
-                .orElse(null);
+        // 요청헤더에서 RefreshToken을 추출합니다. (파싱은 verify()에서 한 번만 수행)
+        String refreshToken = jwtService.extractRefreshToken(request).orElse(null);
 
-        // RefreshToken이 존재하는 경우,토큰이 만료되어 재갱신 요청임.
+        // 유효한 RefreshToken이 존재하는 경우,토큰이 만료되어 재갱신 요청임.
         if (refreshToken != null) {
-            checkRefreshTokenAndReIssueAccessToken(response, refreshToken);
-            return;
+            TokenVerification verification = jwtService.verifyRefreshToken(refreshToken);
+            if (verification.isValid()) {
+                boolean reIssued = checkRefreshTokenAndReIssueAccessToken(response, refreshToken, verification);
+                record(reIssued ? FilterOutcome.REFRESHED : FilterOutcome.INVALID, start);
+                return;
+            }
         }
 
-        checkAccessTokenAndAuthentication(request, response, filterChain);
+        checkAccessTokenAndAuthentication(request, response, filterChain, start);
     }
 
-    public void checkRefreshTokenAndReIssueAccessToken(HttpServletResponse response, String refreshToken) {
-        userRepository.findByRefreshToken(refreshToken)
-                .ifPresent(
-                        user -> {
-                            String reIssueRefreshToken = reIssueRefreshToken(user);
+    /**
+     * 저장된 RefreshToken과 일치하면 AccessToken/RefreshToken을 재발급하고 true를 반환합니다.
+     * 같은 RefreshToken으로 동시에 요청하면 저장소에서 토큰을 지운 요청 하나만 재발급 받습니다.
+     */
+    public boolean checkRefreshTokenAndReIssueAccessToken(HttpServletResponse response, String refreshToken, TokenVerification verification) {
+        // RefreshTokenStore에서 jti로 저장된 RefreshToken을 찾습니다.
+        return jwtService.findRefreshTokenOwner(refreshToken, verification)
+                .flatMap(user -> jwtService.rotateRefreshToken(refreshToken, verification.getJti(), user)
+                        .map(reIssuedRefreshToken -> {
                             jwtService.sendAccessAndRefreshToken(
                                     response,
-                                    jwtService.createAccessToken(user.getUsername()),
-                                    reIssueRefreshToken
+                                    jwtService.createAccessToken(user),
+                                    reIssuedRefreshToken.getToken()
                             );
-                        });
-    }
-
-    private String reIssueRefreshToken(User user) {
-        String reIssuedRefreshToken = jwtService.createRefreshToken();
-        user.updateRefreshToken(reIssuedRefreshToken);
-        userRepository.saveAndFlush(user);
-        return reIssuedRefreshToken;
+                            return true;
+                        }))
+                .orElse(false);
     }
 
-    public void checkAccessTokenAndAuthentication(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain) throws ServletException, IOException {
-        log.info("checkAccessTokenAndAuthentication() 호출");
-        jwtService
+    public void checkAccessTokenAndAuthentication(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain, long start) throws ServletException, IOException {
+        // 서명 검증과 username 추출을 한 번의 파싱으로 처리합니다.
+        FilterOutcome outcome = jwtService
                 .extractAccessToken(request)
-                .filter(jwtService::isTokenValid)
-                .ifPresent(accessToken -> jwtService.extractUsername(accessToken)
-                        .ifPresent(username -> userRepository.findByUsername(username)
-                                .ifPresent(this::saveAuthentication)));
+                .map(this::verifyAccessToken)
+                .map(verification -> {
+                    if (!verification.isValid()) {
+                        return verification.getFailureReason() == TokenVerification.FailureReason.EXPIRED
+                                ? FilterOutcome.EXPIRED
+                                : FilterOutcome.INVALID;
+                    }
+                    // 캐시된 검증 결과도 폐기 여부는 매번 확인합니다. (메모리의 Bloom filter만 확인하므로 DB 조회 없음)
+                    if (tokenDenylist.isRevoked(verification)) {
+                        return FilterOutcome.REVOKED;
+                    }
+                    authenticate(verification);
+                    return FilterOutcome.VALID;
+                })
+                .orElse(FilterOutcome.NO_TOKEN);
+        record(outcome, start);
 
         filterChain.doFilter(request, response);
     }
 
+    private void record(FilterOutcome outcome, long start) {
+        authMetrics.filterTimer(outcome).record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+    }
+
+    private TokenVerification verifyAccessToken(String accessToken) {
+        // 이미 검증한 토큰이면 캐시된 결과를 사용하고, 서명 검증을 생략합니다.
+        TokenVerification cached = verifiedTokenCache.get(accessToken);
+        if (cached != null) {
+            return cached;
+        }
+        TokenVerification verification = jwtService.verifyAccessToken(accessToken);
+        verifiedTokenCache.put(accessToken, verification);
+        return verification;
+    }
+
+    private void authenticate(TokenVerification verification) {
+        // trust-claims 모드에서는 검증된 Claim만으로 인증 객체를 만들어 DB 조회를 생략합니다.
+        if (jwtService.isTrustClaims() && verification.hasPrincipalClaims()) {
+            String role = verification.getRole();
+            saveAuthentication(UserPrincipal.of(verification.getUserId(), verification.getUsername(), role, roleAuthorityRegistry.authoritiesOf(role)));
+            return;
+        }
+        userRepository.findByUsername(verification.getUsername())
+                .ifPresent(this::saveAuthentication);
+    }
+
     public void saveAuthentication(User user) {
-        log.info("saveAuthentication() 호출 : {}", user);
-        UserDetails userDetailsUser = org.springframework.security.core.userdetails.User.builder()
-            .username(user.getUsername())
-            .password("")
-            .roles(user.getRole().replace("ROLE_", ""))
-            .build();
+        log.debug("saveAuthentication() 호출 : {}", user.getUsername());
+        saveAuthentication(UserPrincipal.of(user, roleAuthorityRegistry.authoritiesOf(user.getRole())));
+    }
 
+    public void saveAuthentication(UserPrincipal principal) {
         // UsernamePasswordAuthenticationToken 객체를 생성할 때
         // User의 Authorities를 함께 제공하면, 인증된 사용자 객체로 생성된다.
-        Authentication authentication = new UsernamePasswordAuthenticationToken(
-            userDetailsUser,
+        // 권한 목록은 역할별로 미리 계산해둔 Set을 공유합니다. (RoleAuthorityRegistry)
+        Authentication authentication = UsernamePasswordAuthenticationToken.authenticated(
+            principal,
             null,
-            userDetailsUser.getAuthorities()
+            principal.getAuthorities()
         );
 
         SecurityContextHolder.getContext().setAuthentication(authentication);
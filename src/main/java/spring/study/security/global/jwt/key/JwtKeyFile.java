@@ -0,0 +1,122 @@
+package spring.study.security.global.jwt.key;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Jwk;
+import io.jsonwebtoken.security.Jwks;
+import io.jsonwebtoken.security.PrivateJwk;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.KeyPair;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * ES256, EdDSA 서명키 파일 (jwt.keys.location)
+ * 비밀키가 들어있는 JWK Set이며, 키마다 서명을 시작할 시각(nbf, epoch seconds)을 함께 둔다.
+ *   {"keys":[{"kty":"EC","crv":"P-256","kid":"...","alg":"ES256","x":"...","y":"...","d":"...","nbf":1700000000}, ...]}
+ * 모든 서버가 같은 파일(Secret, 공유 볼륨 등)을 읽어야 같은 키로 서명/검증한다.
+ *
+ * 키 교체는 새 키를 nbf = 지금 + (jwt.keys.jwks-max-age + jwt.keys.reload-interval) 이후로 추가하면 된다.
+ *   ./gradlew jwtKey -PjwtKeysFile=/path/to/keys.json -PjwtAlgorithm=ES256 -PjwtActivateAfter=PT1H
+ * 은퇴한 키는 RefreshToken 유효기간이 지나면 자동으로 무시되므로, 그 이후에 파일에서 지우면 된다.
+ */
+public final class JwtKeyFile {
+
+    static final String ACTIVATES_AT = "nbf";
+
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
+    private JwtKeyFile() {
+    }
+
+    @Getter
+    @AllArgsConstructor
+    public static class Entry {
+        private final String kid;
+        private final JwtKeyRing.Algorithm algorithm;
+        private final KeyPair keyPair;
+        private final Instant activatesAt;
+    }
+
+    public static List<Entry> read(Path path) throws IOException {
+        JsonNode root = OBJECT_MAPPER.readTree(path.toFile());
+        List<Entry> entries = new ArrayList<>();
+        for (JsonNode node : root.path("keys")) {
+            ObjectNode jwkNode = ((ObjectNode) node).deepCopy();
+            JsonNode activatesAt = jwkNode.remove(ACTIVATES_AT);
+            Jwk<?> jwk = Jwks.parser().build().parse(jwkNode.toString());
+            if (!(jwk instanceof PrivateJwk<?, ?, ?> privateJwk) || jwk.getId() == null || activatesAt == null) {
+                throw new IllegalArgumentException("서명키에는 비밀키, kid, nbf가 필요합니다. kid : " + jwk.getId());
+            }
+            entries.add(new Entry(
+                    jwk.getId(),
+                    JwtKeyRing.Algorithm.valueOf(jwk.getAlgorithm()),
+                    privateJwk.toKeyPair().toJavaKeyPair(),
+                    Instant.ofEpochSecond(activatesAt.asLong())
+            ));
+        }
+        return entries;
+    }
+
+    /**
+     * 새 키를 만들어 파일에 추가한다. (파일이 없으면 새로 만듦)
+     */
+    public static String append(Path path, JwtKeyRing.Algorithm algorithm, Instant activatesAt) throws IOException {
+        ObjectNode root = Files.exists(path) ? (ObjectNode) OBJECT_MAPPER.readTree(path.toFile()) : OBJECT_MAPPER.createObjectNode();
+        ArrayNode keys = root.has("keys") ? (ArrayNode) root.get("keys") : root.putArray("keys");
+        ObjectNode key = (ObjectNode) OBJECT_MAPPER.readTree(generate(algorithm));
+        key.put(ACTIVATES_AT, activatesAt.getEpochSecond());
+        keys.add(key);
+
+        // 서버가 쓰는 도중의 파일을 읽지 않도록 임시 파일에 쓰고 바꿔 끼운다.
+        Path temp = Files.createTempFile(path.toAbsolutePath().getParent(), path.getFileName().toString(), ".tmp");
+        OBJECT_MAPPER.writerWithDefaultPrettyPrinter().writeValue(temp.toFile(), root);
+        Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        return key.get("kid").asText();
+    }
+
+    private static String generate(JwtKeyRing.Algorithm algorithm) {
+        KeyPair keyPair;
+        switch (algorithm) {
+            case ES256:
+                keyPair = Jwts.SIG.ES256.keyPair().build();
+                break;
+            case EdDSA:
+                keyPair = Jwks.CRV.Ed25519.keyPair().build();
+                break;
+            default:
+                throw new IllegalArgumentException("키 파일은 ES256, EdDSA만 사용합니다. : " + algorithm);
+        }
+        PrivateJwk<?, ?, ?> jwk = Jwks.builder()
+                .keyPair(keyPair)
+                .algorithm(algorithm.name())
+                .publicKeyUse("sig")
+                .idFromThumbprint()
+                .build();
+        return Jwks.UNSAFE_JSON(jwk);
+    }
+
+    /**
+     * args : 키 파일 경로, 알고리즘(ES256, EdDSA), 서명 시작까지의 시간(ISO-8601 Duration)
+     */
+    public static void main(String[] args) throws IOException {
+        if (args.length != 3) {
+            System.err.println("usage : JwtKeyFile <keys.json> <ES256|EdDSA> <activate-after, ex) PT1H>");
+            System.exit(1);
+        }
+        Instant activatesAt = Instant.now().plus(Duration.parse(args[2]));
+        String kid = append(Path.of(args[0]), JwtKeyRing.Algorithm.valueOf(args[1]), activatesAt);
+        System.out.println("kid : " + kid + ", nbf : " + activatesAt);
+    }
+}
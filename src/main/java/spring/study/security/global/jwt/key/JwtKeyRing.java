@@ -0,0 +1,277 @@
+package spring.study.security.global.jwt.key;
+
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.io.Decoders;
+import io.jsonwebtoken.io.Encoders;
+import io.jsonwebtoken.security.Jwks;
+import io.jsonwebtoken.security.Keys;
+import io.jsonwebtoken.security.PublicJwk;
+import io.jsonwebtoken.security.SecureDigestAlgorithm;
+import jakarta.annotation.PostConstruct;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.security.Key;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * JWT 서명/검증 키 관리
+ * HS512 : jwt.secret으로 만든 대칭키 하나를 사용한다. (JWKS로 공개하지 않음)
+ * ES256, EdDSA : 모든 서버가 공유하는 키 파일(jwt.keys.location, JwtKeyFile 참고)에서 키를 읽는다.
+ *   파일에는 키마다 서명을 시작할 시각(nbf)이 있고, 시작 시각이 지난 키 중 가장 최신 키로 서명한다.
+ *   아직 시작 전인 키는 JWKS에 먼저 공개해서, 공개키를 캐시한 서비스도 서명이 시작되기 전에 새 kid를 받아가게 한다.
+ *   교체된 이전 키는 그 키로 서명된 토큰이 모두 만료될 때까지(RefreshToken 유효기간) 검증용으로만 남겨둔다.
+ *   공개키는 /.well-known/jwks.json으로 제공되므로, 다른 서비스는 secret 없이도 토큰을 직접 검증할 수 있다.
+ * 모든 토큰의 Header에는 서명한 키의 kid가 들어간다.
+ */
+@Slf4j
+@Component
+public class JwtKeyRing {
+
+    public enum Algorithm {
+        HS512,
+        ES256,
+        EdDSA,
+    }
+
+    private static final String HMAC_KEY_ID = "hs512";
+
+    private final Algorithm algorithm;
+    private final String secret;
+    private final String location;
+    private final Duration retention;
+    private final Duration jwksMaxAge;
+
+    // kid -> 실제로 서명을 시작할 시각 (reload 스레드에서만 변경)
+    private final Map<String, Instant> activations = new HashMap<>();
+
+    // 교체 시 통째로 바꿔 끼우는 불변 스냅샷 (요청 스레드는 lock 없이 읽기만 함)
+    private volatile Snapshot snapshot;
+
+    public JwtKeyRing(
+            @Value("${jwt.algorithm}") Algorithm algorithm,
+            @Value("${jwt.secret}") String secret,
+            @Value("${jwt.keys.location:}") String location,
+            @Value("${jwt.refresh.expiration}") long refreshTokenExpiration,
+            @Value("${jwt.keys.jwks-max-age}") Duration jwksMaxAge
+    ) {
+        this.algorithm = algorithm;
+        this.secret = secret;
+        this.location = location;
+        this.retention = Duration.ofSeconds(refreshTokenExpiration);
+        this.jwksMaxAge = jwksMaxAge;
+    }
+
+    @PostConstruct
+    public void init() {
+        if (algorithm == Algorithm.HS512) {
+            //HS512 알고리즘을 사용할 것이기 때문에 512bit, 즉 64byte 이상의 secret key를 사용해야 한다.
+            Key key = Keys.hmacShaKeyFor(Decoders.BASE64.decode(secret));
+            SigningKey signingKey = new SigningKey(HMAC_KEY_ID, key, key, signatureAlgorithm(Algorithm.HS512), null, Instant.EPOCH);
+            this.snapshot = new Snapshot(signingKey, List.of(signingKey));
+        } else {
+            if (!StringUtils.hasText(location)) {
+                throw new IllegalStateException(algorithm + " 알고리즘은 jwt.keys.location에 서명키 파일이 필요합니다.");
+            }
+            this.snapshot = load(Instant.now());
+        }
+        log.info("JWT 서명 알고리즘 : {}, kid : {}", algorithm, snapshot.signingKey.getKid());
+    }
+
+    /**
+     * 키 파일을 다시 읽고 서명키를 고른다. (HS512는 교체하지 않음)
+     * 파일을 읽지 못하면 기존 키를 계속 사용한다.
+     */
+    @Scheduled(fixedDelayString = "${jwt.keys.reload-interval}", initialDelayString = "${jwt.keys.reload-interval}")
+    public void reload() {
+        if (algorithm == Algorithm.HS512) {
+            return;
+        }
+        try {
+            reload(Instant.now());
+        } catch (RuntimeException e) {
+            log.warn("JWT 서명키 파일을 다시 읽지 못해서 기존 키를 사용합니다. location : {}", location, e);
+        }
+    }
+
+    void reload(Instant now) {
+        Snapshot previous = snapshot;
+        Snapshot next = load(now);
+        this.snapshot = next;
+        if (!next.signingKey.getKid().equals(previous.signingKey.getKid())) {
+            log.info("JWT 서명키를 교체했습니다. kid : {}, 검증용 키 개수 : {}", next.signingKey.getKid(), next.keys.size());
+        }
+    }
+
+    public SigningKey getSigningKey() {
+        return snapshot.signingKey;
+    }
+
+    /**
+     * Header의 kid로 검증키를 찾는다. kid가 없는 HS512 토큰(kid 도입 이전에 발급된 토큰)은 대칭키로 검증한다.
+     */
+    public Key findVerificationKey(String kid) {
+        Snapshot current = snapshot;
+        if (kid == null) {
+            return algorithm == Algorithm.HS512 ? current.signingKey.getVerificationKey() : null;
+        }
+        SigningKey key = current.keysById.get(kid);
+        return key == null ? null : key.getVerificationKey();
+    }
+
+    /**
+     * 미리 직렬화해 둔 JWKS(JSON) 바이트 (서명 예정인 키, 서명 중인 키, 보관 중인 이전 키)
+     */
+    public byte[] getJwks() {
+        return snapshot.jwks;
+    }
+
+    public String getJwksEtag() {
+        return snapshot.jwksEtag;
+    }
+
+    private Snapshot load(Instant now) {
+        List<JwtKeyFile.Entry> entries;
+        try {
+            entries = JwtKeyFile.read(Path.of(location));
+        } catch (IOException e) {
+            throw new IllegalStateException("JWT 서명키 파일을 읽을 수 없습니다. location : " + location, e);
+        }
+
+        boolean initial = activations.isEmpty();
+        Set<String> kids = new HashSet<>();
+        List<SigningKey> keys = new ArrayList<>();
+        for (JwtKeyFile.Entry entry : entries) {
+            if (entry.getAlgorithm() != algorithm) {
+                throw new IllegalStateException("jwt.algorithm과 다른 알고리즘의 키가 있습니다. kid : " + entry.getKid() + ", alg : " + entry.getAlgorithm());
+            }
+            kids.add(entry.getKid());
+            Instant activatesAt = activations.computeIfAbsent(entry.getKid(), kid -> activationOf(entry, now, initial));
+            keys.add(createKey(entry, activatesAt));
+        }
+        activations.keySet().retainAll(kids);
+        keys.sort(Comparator.comparing(SigningKey::getActivatesAt).reversed());
+
+        // keys는 최신순이므로, 서명키 앞쪽은 서명 예정인 키, 뒤쪽은 이전 키다.
+        List<SigningKey> published = new ArrayList<>();
+        SigningKey signingKey = null;
+        Instant retiredAt = null;
+        for (SigningKey key : keys) {
+            if (signingKey == null) {
+                published.add(key);
+                if (!key.getActivatesAt().isAfter(now)) {
+                    signingKey = key;
+                }
+            } else if (retiredAt.plus(retention).isAfter(now)) {
+                // 바로 앞(더 최신) 키가 서명을 시작한 시점이 해당 키가 은퇴한 시점이다.
+                published.add(key);
+            } else {
+                break;
+            }
+            retiredAt = key.getActivatesAt();
+        }
+        if (signingKey == null) {
+            throw new IllegalStateException("서명을 시작한(nbf가 지난) JWT 서명키가 없습니다. location : " + location);
+        }
+        return new Snapshot(signingKey, published);
+    }
+
+    /**
+     * 서버가 떠 있는 동안 파일에 추가된 키는, 다른 서비스가 캐시한 JWKS(jwt.keys.jwks-max-age)가 갱신될 때까지 서명에 사용하지 않는다.
+     * 서버 시작 시 읽은 키는 이미 다른 서버가 공개하고 있던 키이므로 nbf를 그대로 따른다.
+     */
+    private Instant activationOf(JwtKeyFile.Entry entry, Instant now, boolean initial) {
+        Instant published = now.plus(jwksMaxAge);
+        if (initial || !entry.getActivatesAt().isBefore(published)) {
+            return entry.getActivatesAt();
+        }
+        log.warn("JWT 서명키의 nbf가 JWKS 캐시 시간보다 이릅니다. {}부터 서명에 사용합니다. kid : {}", published, entry.getKid());
+        return published;
+    }
+
+    private SigningKey createKey(JwtKeyFile.Entry entry, Instant activatesAt) {
+        SecureDigestAlgorithm<Key, ?> signatureAlgorithm = signatureAlgorithm(entry.getAlgorithm());
+        PublicJwk<?> jwk = Jwks.builder()
+                .key(entry.getKeyPair().getPublic())
+                .algorithm(signatureAlgorithm.getId())
+                .publicKeyUse("sig")
+                .id(entry.getKid())
+                .build();
+        return new SigningKey(entry.getKid(), entry.getKeyPair().getPrivate(), entry.getKeyPair().getPublic(), signatureAlgorithm, jwk, activatesAt);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static SecureDigestAlgorithm<Key, ?> signatureAlgorithm(Algorithm algorithm) {
+        switch (algorithm) {
+            case ES256:
+                return (SecureDigestAlgorithm<Key, ?>) (SecureDigestAlgorithm<?, ?>) Jwts.SIG.ES256;
+            case EdDSA:
+                return (SecureDigestAlgorithm<Key, ?>) (SecureDigestAlgorithm<?, ?>) Jwts.SIG.EdDSA;
+            default:
+                return (SecureDigestAlgorithm<Key, ?>) (SecureDigestAlgorithm<?, ?>) Jwts.SIG.HS512;
+        }
+    }
+
+    @Getter
+    @AllArgsConstructor
+    public static class SigningKey {
+        private final String kid;
+        private final Key key;
+        private final Key verificationKey;
+        private final SecureDigestAlgorithm<Key, ?> algorithm;
+        private final PublicJwk<?> publicJwk; // 대칭키는 null
+        private final Instant activatesAt;
+    }
+
+    private static class Snapshot {
+        private final SigningKey signingKey;
+        private final List<SigningKey> keys;
+        private final Map<String, SigningKey> keysById;
+        private final byte[] jwks;
+        private final String jwksEtag;
+
+        private Snapshot(SigningKey signingKey, List<SigningKey> keys) {
+            this.signingKey = signingKey;
+            this.keys = Collections.unmodifiableList(keys);
+            Map<String, SigningKey> keysById = new HashMap<>();
+            for (SigningKey key : keys) {
+                keysById.put(key.getKid(), key);
+            }
+            this.keysById = keysById;
+            this.jwks = keys.stream()
+                    .filter(key -> key.getPublicJwk() != null)
+                    .map(key -> Jwks.json(key.getPublicJwk()))
+                    .collect(Collectors.joining(",", "{\"keys\":[", "]}"))
+                    .getBytes(StandardCharsets.UTF_8);
+            this.jwksEtag = "\"" + Encoders.BASE64URL.encode(sha256(jwks)) + "\"";
+        }
+
+        private static byte[] sha256(byte[] bytes) {
+            try {
+                return MessageDigest.getInstance("SHA-256").digest(bytes);
+            } catch (NoSuchAlgorithmException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+    }
+}
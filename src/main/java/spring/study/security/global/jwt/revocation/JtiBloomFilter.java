@@ -0,0 +1,65 @@
+package spring.study.security.global.jwt.revocation;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * 폐기된 jti의 Bloom filter (세대 2개)
+ * 대부분의 요청은 폐기되지 않은 토큰이므로, 여기서 "없음"이 나오면 exact set을 조회하지 않는다.
+ * Bloom filter는 항목을 지울 수 없으므로 current / previous 두 세대를 두고, rotate()가 호출될 때마다 previous를 버린다.
+ * rotate() 주기를 AccessToken 유효기간 이상으로 두면, 토큰이 만료되기 전에 항목이 사라지지 않는다.
+ */
+final class JtiBloomFilter {
+
+    private final int bitMask;
+    private final int hashes;
+    private volatile AtomicLongArray current;
+    private volatile AtomicLongArray previous;
+
+    /**
+     * @param expectedInsertions 한 세대에 들어갈 것으로 예상되는 항목 수
+     * @param falsePositiveRate  목표 오탐률 (예 : 0.01)
+     */
+    JtiBloomFilter(long expectedInsertions, double falsePositiveRate) {
+        long n = Math.max(expectedInsertions, 1);
+        long optimalBits = (long) Math.ceil(-n * Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2)));
+        // 위치 계산을 mask로 하기 위해 2의 거듭제곱으로 올린다. (최소 64bit, 최대 2^30bit = 128MiB)
+        int bits = (int) Math.min(1L << 30, Math.max(64, Long.highestOneBit(optimalBits - 1) << 1));
+        this.bitMask = bits - 1;
+        this.hashes = (int) Math.max(1, Math.min(16, Math.round((double) bits / n * Math.log(2))));
+        this.current = new AtomicLongArray(bits / 64);
+        this.previous = new AtomicLongArray(bits / 64);
+    }
+
+    synchronized void put(JtiKey key) {
+        AtomicLongArray words = current;
+        long h1 = key.hash1();
+        long h2 = key.hash2();
+        for (int i = 0; i < hashes; i++) {
+            int bit = (int) (h1 + i * h2) & bitMask;
+            int word = bit >>> 6;
+            // 쓰기는 synchronized로 한 스레드만 하므로 CAS가 필요 없다. (AtomicLongArray는 읽는 스레드에 바로 보이게 하기 위함)
+            words.set(word, words.get(word) | (1L << bit));
+        }
+    }
+
+    boolean mightContain(JtiKey key) {
+        long h1 = key.hash1();
+        long h2 = key.hash2();
+        return contains(current, h1, h2) || contains(previous, h1, h2);
+    }
+
+    private boolean contains(AtomicLongArray words, long h1, long h2) {
+        for (int i = 0; i < hashes; i++) {
+            int bit = (int) (h1 + i * h2) & bitMask;
+            if ((words.get(bit >>> 6) & (1L << bit)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    synchronized void rotate() {
+        previous = current;
+        current = new AtomicLongArray(previous.length());
+    }
+}
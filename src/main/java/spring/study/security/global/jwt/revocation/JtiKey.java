@@ -0,0 +1,50 @@
+package spring.study.security.global.jwt.revocation;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.UUID;
+
+/**
+ * jti를 128bit(long 2개)로 바꾼 값
+ * 발급하는 jti는 UUID이므로 그대로 사용하고, UUID가 아니면 SHA-256의 앞 16byte를 사용한다.
+ */
+record JtiKey(long high, long low) {
+
+    static JtiKey of(String jti) {
+        if (jti.length() == 36) {
+            try {
+                UUID uuid = UUID.fromString(jti);
+                return new JtiKey(uuid.getMostSignificantBits(), uuid.getLeastSignificantBits());
+            } catch (IllegalArgumentException ignored) {
+                // UUID 형식이 아니면 해시를 사용한다.
+            }
+        }
+        try {
+            ByteBuffer digest = ByteBuffer.wrap(MessageDigest.getInstance("SHA-256").digest(jti.getBytes(StandardCharsets.UTF_8)));
+            return new JtiKey(digest.getLong(), digest.getLong());
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    // Bloom filter / hash set의 위치 계산용 해시 (UUID의 version/variant 비트가 고정되어 있어 섞어서 사용)
+    long hash1() {
+        return mix(high ^ Long.rotateLeft(low, 32));
+    }
+
+    long hash2() {
+        return mix(low + 0x9E3779B97F4A7C15L) | 1L;
+    }
+
+    // MurmurHash3 fmix64
+    private static long mix(long h) {
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb1a8a5bdf14fL;
+        h ^= h >>> 33;
+        return h;
+    }
+}
@@ -0,0 +1,24 @@
+package spring.study.security.global.jwt.revocation;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/**
+ * 단일 서버용 (테스트에서도 사용)
+ * 이 서버의 TokenDenylist에만 바로 반영한다. 서버가 재시작되면 폐기 목록도 사라진다.
+ */
+@Component
+@ConditionalOnProperty(name = "jwt.revocation.bus", havingValue = "local", matchIfMissing = true)
+public class LocalRevocationEventBus implements RevocationEventBus {
+
+    private final TokenDenylist tokenDenylist;
+
+    public LocalRevocationEventBus(TokenDenylist tokenDenylist) {
+        this.tokenDenylist = tokenDenylist;
+    }
+
+    @Override
+    public void publish(RevocationEvent event) {
+        tokenDenylist.apply(event);
+    }
+}
@@ -0,0 +1,82 @@
+package spring.study.security.global.jwt.revocation;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Set;
+
+/**
+ * 여러 서버용 (Redis Pub/Sub)
+ * 이벤트를 Sorted Set(score = expiresAt)에 저장하고 채널로 발행하면, 모든 서버가 구독해서 각자의 TokenDenylist에 반영한다.
+ * 나중에 시작한 서버는 Sorted Set에서 아직 만료되지 않은 이벤트를 읽어서 폐기 목록을 채운다.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "jwt.revocation.bus", havingValue = "redis")
+public class RedisRevocationEventBus implements RevocationEventBus {
+
+    private static final String CHANNEL = "token_revocation";
+    private static final String EVENTS_KEY = "token_revocations";
+
+    private final StringRedisTemplate redisTemplate;
+    private final TokenDenylist tokenDenylist;
+    private final RedisMessageListenerContainer listenerContainer;
+
+    public RedisRevocationEventBus(StringRedisTemplate redisTemplate, RedisConnectionFactory connectionFactory, TokenDenylist tokenDenylist) {
+        this.redisTemplate = redisTemplate;
+        this.tokenDenylist = tokenDenylist;
+        this.listenerContainer = new RedisMessageListenerContainer();
+        this.listenerContainer.setConnectionFactory(connectionFactory);
+        this.listenerContainer.addMessageListener(this::onMessage, new ChannelTopic(CHANNEL));
+    }
+
+    @PostConstruct
+    public void start() {
+        // 구독을 먼저 시작하고 저장된 이벤트를 읽어서, 그 사이에 발행된 이벤트를 놓치지 않는다. (중복 반영은 문제 없음)
+        listenerContainer.afterPropertiesSet();
+        listenerContainer.start();
+        long now = Instant.now().toEpochMilli();
+        redisTemplate.opsForZSet().removeRangeByScore(EVENTS_KEY, Double.NEGATIVE_INFINITY, now);
+        Set<String> events = redisTemplate.opsForZSet().rangeByScore(EVENTS_KEY, now, Double.POSITIVE_INFINITY);
+        if (events != null) {
+            events.forEach(this::apply);
+            log.info("저장된 토큰 폐기 이벤트 {}건을 반영했습니다.", events.size());
+        }
+    }
+
+    @Override
+    public void publish(RevocationEvent event) {
+        // 구독 메시지를 기다리지 않고 이 서버에는 바로 반영한다.
+        tokenDenylist.apply(event);
+        String value = event.encode();
+        redisTemplate.opsForZSet().add(EVENTS_KEY, value, event.expiresAt().toEpochMilli());
+        redisTemplate.convertAndSend(CHANNEL, value);
+    }
+
+    private void onMessage(Message message, byte[] pattern) {
+        apply(new String(message.getBody(), StandardCharsets.UTF_8));
+    }
+
+    private void apply(String value) {
+        try {
+            tokenDenylist.apply(RevocationEvent.decode(value));
+        } catch (IllegalArgumentException e) {
+            log.warn("토큰 폐기 이벤트를 반영하지 못했습니다. : {}", e.getMessage());
+        }
+    }
+
+    @PreDestroy
+    public void stop() throws Exception {
+        listenerContainer.destroy();
+    }
+}
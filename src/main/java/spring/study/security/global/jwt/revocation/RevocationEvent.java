@@ -0,0 +1,59 @@
+package spring.study.security.global.jwt.revocation;
+
+import java.time.Instant;
+
+/**
+ * 토큰 폐기 이벤트 (서버 간 전달 단위)
+ * - TOKEN : jti 하나를 폐기 (로그아웃)
+ * - USER : revokedAt 이전에 발급된 해당 회원의 모든 토큰을 폐기 (모든 기기에서 로그아웃)
+ * expiresAt이 지나면 폐기된 토큰도 모두 만료되었으므로 이벤트를 버려도 된다.
+ */
+public record RevocationEvent(Type type, String jti, Integer userId, Instant revokedAt, Instant expiresAt) {
+
+    public enum Type {
+        TOKEN,
+        USER,
+    }
+
+    private static final String DELIMITER = ":";
+
+    public static RevocationEvent token(String jti, Instant expiresAt) {
+        return new RevocationEvent(Type.TOKEN, jti, null, null, expiresAt);
+    }
+
+    public static RevocationEvent user(int userId, Instant revokedAt, Instant expiresAt) {
+        return new RevocationEvent(Type.USER, null, userId, revokedAt, expiresAt);
+    }
+
+    public boolean isExpired(Instant now) {
+        return !expiresAt.isAfter(now);
+    }
+
+    /**
+     * TOKEN:{expiresAt(epoch millis)}:{jti} / USER:{expiresAt}:{userId}:{revokedAt(epoch millis)}
+     */
+    public String encode() {
+        return switch (type) {
+            case TOKEN -> type + DELIMITER + expiresAt.toEpochMilli() + DELIMITER + jti;
+            case USER -> type + DELIMITER + expiresAt.toEpochMilli() + DELIMITER + userId + DELIMITER + revokedAt.toEpochMilli();
+        };
+    }
+
+    public static RevocationEvent decode(String value) {
+        String[] parts = value.split(DELIMITER, 3);
+        if (parts.length != 3) {
+            throw new IllegalArgumentException("잘못된 폐기 이벤트입니다. : " + value);
+        }
+        Instant expiresAt = Instant.ofEpochMilli(Long.parseLong(parts[1]));
+        return switch (Type.valueOf(parts[0])) {
+            case TOKEN -> token(parts[2], expiresAt);
+            case USER -> {
+                String[] user = parts[2].split(DELIMITER, 2);
+                if (user.length != 2) {
+                    throw new IllegalArgumentException("잘못된 폐기 이벤트입니다. : " + value);
+                }
+                yield user(Integer.parseInt(user[0]), Instant.ofEpochMilli(Long.parseLong(user[1])), expiresAt);
+            }
+        };
+    }
+}
@@ -0,0 +1,10 @@
+package spring.study.security.global.jwt.revocation;
+
+/**
+ * 폐기 이벤트를 모든 서버의 TokenDenylist에 전달한다.
+ * jwt.revocation.bus 설정값(local, redis)에 따라 구현체가 선택된다.
+ */
+public interface RevocationEventBus {
+
+    void publish(RevocationEvent event);
+}
@@ -0,0 +1,101 @@
+package spring.study.security.global.jwt.revocation;
+
+/**
+ * 폐기된 jti의 정확한 집합 (open addressing, linear probing)
+ * 객체를 만들지 않도록 jti(128bit)와 만료 시각을 long 배열에 그대로 저장한다.
+ * Bloom filter가 "있을 수도 있음"이라고 답한 경우에만 조회되므로, 단순하게 synchronized로 보호한다.
+ * 만료된 항목은 조회 시 없는 것으로 보고, removeExpired()에서 테이블을 다시 만들면서 제거한다.
+ */
+final class RevokedJtiSet {
+
+    private static final int MIN_CAPACITY = 1024;
+
+    // 한 칸에 long 3개 : high, low, expiresAt (expiresAt == 0이면 빈 칸)
+    private long[] table;
+    private int mask;
+    private int size;
+
+    RevokedJtiSet() {
+        allocate(MIN_CAPACITY);
+    }
+
+    synchronized boolean contains(JtiKey key, long nowMillis) {
+        int slot = (int) key.hash1() & mask;
+        while (true) {
+            int base = slot * 3;
+            long expiresAt = table[base + 2];
+            if (expiresAt == 0) {
+                return false;
+            }
+            if (table[base] == key.high() && table[base + 1] == key.low()) {
+                return expiresAt > nowMillis;
+            }
+            slot = (slot + 1) & mask;
+        }
+    }
+
+    synchronized void add(JtiKey key, long expiresAtMillis) {
+        // 사용률을 50% 이하로 유지한다.
+        if ((size + 1) * 2 > mask + 1) {
+            rebuild(System.currentTimeMillis(), (mask + 1) * 2);
+        }
+        if (insert(key.high(), key.low(), key.hash1(), Math.max(expiresAtMillis, 1))) {
+            size++;
+        }
+    }
+
+    /**
+     * 만료된 항목을 제거한다.
+     * @return 남은 항목 수
+     */
+    synchronized int removeExpired(long nowMillis) {
+        int capacity = mask + 1;
+        // 항목이 많이 줄었으면 테이블도 줄인다.
+        while (capacity > MIN_CAPACITY && size * 8 < capacity) {
+            capacity >>>= 1;
+        }
+        rebuild(nowMillis, capacity);
+        return size;
+    }
+
+    synchronized int size() {
+        return size;
+    }
+
+    private boolean insert(long high, long low, long hash, long expiresAtMillis) {
+        int slot = (int) hash & mask;
+        while (true) {
+            int base = slot * 3;
+            if (table[base + 2] == 0) {
+                table[base] = high;
+                table[base + 1] = low;
+                table[base + 2] = expiresAtMillis;
+                return true;
+            }
+            if (table[base] == high && table[base + 1] == low) {
+                table[base + 2] = Math.max(table[base + 2], expiresAtMillis);
+                return false;
+            }
+            slot = (slot + 1) & mask;
+        }
+    }
+
+    private void rebuild(long nowMillis, int capacity) {
+        long[] old = table;
+        allocate(Math.max(capacity, MIN_CAPACITY));
+        size = 0;
+        for (int base = 0; base < old.length; base += 3) {
+            long expiresAt = old[base + 2];
+            if (expiresAt > nowMillis) {
+                JtiKey key = new JtiKey(old[base], old[base + 1]);
+                insert(key.high(), key.low(), key.hash1(), expiresAt);
+                size++;
+            }
+        }
+    }
+
+    private void allocate(int capacity) {
+        table = new long[capacity * 3];
+        mask = capacity - 1;
+    }
+}
@@ -0,0 +1,114 @@
+package spring.study.security.global.jwt.revocation;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import spring.study.security.global.jwt.dto.TokenVerification;
+
+import java.time.Instant;
+import java.util.Date;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 이 서버가 알고 있는 폐기된 토큰 목록 (RevocationEventBus가 채운다)
+ * 요청마다 DB/Redis를 조회하지 않도록 모두 메모리에서 확인한다.
+ * - jti 폐기 : Bloom filter에서 "없음"이면 바로 통과하고, "있을 수도 있음"이면 exact set(RevokedJtiSet)을 확인한다.
+ * - 회원 단위 폐기 : userId별로 폐기 시각을 두고, 그 이전에 발급된 토큰을 거절한다. (밀리초 단위로 비교하므로 폐기 직후 다시 로그인한 토큰은 통과)
+ * 항목은 폐기된 토큰이 모두 만료되는 시점(expiresAt)이 지나면 sweep()에서 제거된다.
+ * 폐기된 jti / 회원 수는 auth.jwt.revocations 지표(type=token, user)로 노출된다.
+ */
+@Slf4j
+@Component
+public class TokenDenylist {
+
+    private static final double FALSE_POSITIVE_RATE = 0.01;
+
+    private final JtiBloomFilter bloomFilter;
+    private final RevokedJtiSet revokedJtis = new RevokedJtiSet();
+    private final Map<Integer, RevocationEvent> revokedUsers = new ConcurrentHashMap<>();
+    // Bloom filter 한 세대의 길이 (AccessToken 유효기간)
+    private final long generationMillis;
+    private volatile long generationStartedAt = System.currentTimeMillis();
+
+    public TokenDenylist(
+            @Value("${jwt.revocation.expected-revocations}") long expectedRevocations,
+            @Value("${jwt.access.expiration}") long accessTokenExpiration,
+            MeterRegistry meterRegistry
+    ) {
+        this.bloomFilter = new JtiBloomFilter(expectedRevocations, FALSE_POSITIVE_RATE);
+        this.generationMillis = accessTokenExpiration * 1000;
+        Gauge.builder("auth.jwt.revocations", revokedJtis, RevokedJtiSet::size)
+                .description("폐기되었지만 아직 만료되지 않은 토큰 수")
+                .tag("type", "token")
+                .register(meterRegistry);
+        Gauge.builder("auth.jwt.revocations", revokedUsers, Map::size)
+                .description("모든 토큰이 폐기된 회원 수")
+                .tag("type", "user")
+                .register(meterRegistry);
+    }
+
+    /**
+     * 폐기 이벤트를 반영한다. 같은 이벤트가 여러 번 와도 결과는 같다.
+     */
+    public void apply(RevocationEvent event) {
+        if (event.isExpired(Instant.now())) {
+            return;
+        }
+        switch (event.type()) {
+            case TOKEN -> {
+                JtiKey key = JtiKey.of(event.jti());
+                revokedJtis.add(key, event.expiresAt().toEpochMilli());
+                bloomFilter.put(key);
+            }
+            case USER -> revokedUsers.merge(event.userId(), event,
+                    (old, revoked) -> old.revokedAt().isAfter(revoked.revokedAt()) ? old : revoked);
+        }
+    }
+
+    /**
+     * 검증에 성공한 AccessToken이 폐기되었는지 확인한다.
+     */
+    public boolean isRevoked(TokenVerification verification) {
+        if (verification.getUserId() != null && isRevokedForUser(verification.getUserId(), verification.getIssuedAt())) {
+            return true;
+        }
+        String jti = verification.getJti();
+        if (jti == null) {
+            return false;
+        }
+        JtiKey key = JtiKey.of(jti);
+        return bloomFilter.mightContain(key) && revokedJtis.contains(key, System.currentTimeMillis());
+    }
+
+    /**
+     * 회원의 모든 토큰이 폐기되기 전에 발급된 토큰인지 확인한다. (발급 시각이 없는 토큰은 폐기된 것으로 본다)
+     * 밀리초 발급 시각 claim이 없는 이전 토큰은 iat가 초 단위로 내림되어 있으므로, 폐기와 같은 초에 발급되었으면 폐기된 것으로 본다.
+     */
+    public boolean isRevokedForUser(int userId, Date issuedAt) {
+        if (revokedUsers.isEmpty()) {
+            return false;
+        }
+        RevocationEvent revoked = revokedUsers.get(userId);
+        if (revoked == null || revoked.isExpired(Instant.now())) {
+            return false;
+        }
+        return issuedAt == null || issuedAt.getTime() <= revoked.revokedAt().toEpochMilli();
+    }
+
+    @Scheduled(fixedDelayString = "${jwt.revocation.sweep-interval}", initialDelayString = "${jwt.revocation.sweep-interval}")
+    public void sweep() {
+        long now = System.currentTimeMillis();
+        int remaining = revokedJtis.removeExpired(now);
+        revokedUsers.values().removeIf(revoked -> revoked.isExpired(Instant.ofEpochMilli(now)));
+        // 한 세대가 지나면 이전 세대의 토큰은 모두 만료되었으므로 버린다.
+        if (now - generationStartedAt >= generationMillis) {
+            bloomFilter.rotate();
+            generationStartedAt = now;
+        }
+        log.debug("폐기 목록 정리 : token={}, user={}", remaining, revokedUsers.size());
+    }
+}
@@ -0,0 +1,50 @@
+package spring.study.security.global.jwt.revocation;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import spring.study.security.global.jwt.dto.TokenVerification;
+
+import java.time.Instant;
+
+/**
+ * AccessToken 폐기 (로그아웃)
+ * RefreshToken은 저장소에서 지우면 되지만, AccessToken은 서명만으로 검증하므로 exp 전까지 폐기 목록으로 막는다.
+ */
+@Slf4j
+@Service
+public class TokenRevocationService {
+
+    private final RevocationEventBus revocationEventBus;
+    // 회원 단위 폐기는 RefreshToken까지 막아야 하므로 더 긴 유효기간 동안 유지한다.
+    private final long userRevocationSeconds;
+
+    public TokenRevocationService(
+            RevocationEventBus revocationEventBus,
+            @Value("${jwt.access.expiration}") long accessTokenExpiration,
+            @Value("${jwt.refresh.expiration}") long refreshTokenExpiration
+    ) {
+        this.revocationEventBus = revocationEventBus;
+        this.userRevocationSeconds = Math.max(accessTokenExpiration, refreshTokenExpiration);
+    }
+
+    /**
+     * 검증된 토큰 하나를 exp까지 폐기한다. (jti가 없는 이전 토큰은 폐기할 수 없음)
+     */
+    public boolean revoke(TokenVerification verification) {
+        if (!verification.isValid() || verification.getJti() == null) {
+            return false;
+        }
+        revocationEventBus.publish(RevocationEvent.token(verification.getJti(), verification.getExpiration().toInstant()));
+        return true;
+    }
+
+    /**
+     * 지금까지 발급된 회원의 모든 AccessToken / RefreshToken을 폐기한다. (모든 기기에서 로그아웃)
+     */
+    public void revokeAll(int userId) {
+        Instant now = Instant.now();
+        revocationEventBus.publish(RevocationEvent.user(userId, now, now.plusSeconds(userRevocationSeconds)));
+        log.info("회원의 모든 토큰을 폐기했습니다. userId : {}", userId);
+    }
+}
@@ -1,69 +1,123 @@
 package spring.study.security.global.jwt.service;
 
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
+import io.jsonwebtoken.JwsHeader;
 import io.jsonwebtoken.Jwts;
-import io.jsonwebtoken.SignatureAlgorithm;
-import io.jsonwebtoken.io.Decoders;
-import io.jsonwebtoken.security.Keys;
+import io.jsonwebtoken.LocatorAdapter;
+import io.jsonwebtoken.UnsupportedJwtException;
 import jakarta.annotation.PostConstruct;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import lombok.Getter;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.beans.factory.InitializingBean;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
+import spring.study.security.domain.model.User;
 import spring.study.security.domain.repository.UserRepository;
+import spring.study.security.global.jwt.dto.IssuedRefreshToken;
+import spring.study.security.global.jwt.dto.TokenVerification;
+import spring.study.security.global.jwt.dto.TokenVerification.FailureReason;
+import spring.study.security.global.jwt.key.JwtKeyRing;
+import spring.study.security.global.jwt.key.JwtKeyRing.SigningKey;
+import spring.study.security.global.jwt.revocation.TokenDenylist;
+import spring.study.security.global.jwt.store.RefreshTokenStore;
+import spring.study.security.global.jwt.store.StoredRefreshToken;
+import spring.study.security.global.jwt.util.TokenDigests;
+import spring.study.security.global.login.dto.UserPrincipal;
+import spring.study.security.global.metrics.AuthMetrics;
 
+import java.nio.charset.StandardCharsets;
 import java.security.Key;
+import java.security.MessageDigest;
+import java.time.Duration;
 import java.util.Date;
 import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
 
 @Slf4j
 @Service
 public class JwtService {
 
     private final UserRepository userRepository;
+    private final RefreshTokenStore refreshTokenStore;
+    private final JwtKeyRing jwtKeyRing;
+    private final TokenDenylist tokenDenylist;
+    private final AuthMetrics authMetrics;
     @Getter
     private final String BEARER = "Bearer ";
     private final String ACCESS_TOKEN_SUBJECT = "AccessToken";
     private final String REFRESH_TOKEN_SUBJECT = "RefreshToken";
+    private final String ID_CLAIM = "id";
     private final String NAME_CLAIM = "name";
+    private final String ROLE_CLAIM = "role";
+    // iat는 초 단위라, 모든 기기에서 로그아웃한 직후(같은 초)에 다시 로그인한 토큰과 구분하기 위해 밀리초 발급 시각을 따로 넣는다.
+    private final String ISSUED_AT_MILLIS_CLAIM = "iat_ms";
 
-    @Value("${jwt.secret}")
-    private String secret;
     @Getter
     @Value("${jwt.access.header}")
     private String accessHeader;
     @Getter
     @Value("${jwt.refresh.header}")
     private String refreshHeader;
+    // true면 AccessToken의 Claim(id, role)만으로 인증 객체를 만들고, false면 매 요청마다 DB에서 User를 다시 조회한다.
+    @Getter
+    @Value("${jwt.access.trust-claims}")
+    private boolean trustClaims;
     // @Value("jwt.access.expiration")
     private final long accessTokenExpiration;
     // @Value("jwt.refresh.expiration")
     private final long refreshTokenExpiration;
-    private Key key;
+    // JwtParser는 불변 객체라 thread-safe 하므로, 한 번만 만들어서 재사용한다.
+    // 검증키는 Header의 kid로 JwtKeyRing에서 찾는다. (키가 교체되어도 Parser를 다시 만들 필요 없음)
+    private JwtParser jwtParser;
 
     public JwtService(
             UserRepository userRepository,
+            RefreshTokenStore refreshTokenStore,
+            JwtKeyRing jwtKeyRing,
+            TokenDenylist tokenDenylist,
+            AuthMetrics authMetrics,
             @Value("${jwt.access.expiration}") long accessTokenExpiration,
             @Value("${jwt.refresh.expiration}") long refreshTokenExpiration
     ) {
         this.userRepository = userRepository;
+        this.refreshTokenStore = refreshTokenStore;
+        this.jwtKeyRing = jwtKeyRing;
+        this.tokenDenylist = tokenDenylist;
+        this.authMetrics = authMetrics;
         this.accessTokenExpiration = accessTokenExpiration * 1000;
         this.refreshTokenExpiration = refreshTokenExpiration * 1000;
     }
 
     @PostConstruct
     public void init() {
-        byte[] keyBytes = Decoders.BASE64.decode(secret);
-        this.key = Keys.hmacShaKeyFor(keyBytes);
+        this.jwtParser = Jwts.parser()
+                .keyLocator(new LocatorAdapter<>() {
+                    @Override
+                    protected Key locate(JwsHeader header) {
+                        return jwtKeyRing.findVerificationKey(header.getKeyId());
+                    }
+                })
+                .build();
+    }
+
+    public String createAccessToken(User user) {
+        return createAccessToken(user.getId(), user.getUsername(), user.getRole());
     }
 
-    public String createAccessToken(String username) {
+    public String createAccessToken(UserPrincipal principal) {
+        return createAccessToken(principal.id(), principal.getUsername(), principal.role());
+    }
+
+    private String createAccessToken(int userId, String username, String role) {
+        long start = System.nanoTime();
         // 토큰의 expire 시간을 설정
-        long now = (new Date()).getTime();
-        Date validity = new Date(now + accessTokenExpiration);
+        Date issuedAt = new Date();
+        Date validity = new Date(issuedAt.getTime() + accessTokenExpiration);
 
         // JWT 용어가 헷갈릴 수 있는데, 내용 정리를 하자면
         // JWT는 Header, Payload, Signature로 이루어져 있음.
@@ -76,27 +130,46 @@ public class JwtService {
         // jti (토큰식별자, JWT ID)가 있다.
         // Jwts.builder()에서 이러한 예약데이터들은 메소드로 존재하고 그 외에 추가로 넣고 싶으면
         // claim 메소드를 통해 새롭게 추가할 수 있는 개념.
-        return Jwts.builder()
-                .setSubject(ACCESS_TOKEN_SUBJECT) // Jwt Subject
+        SigningKey signingKey = jwtKeyRing.getSigningKey();
+        String accessToken = Jwts.builder()
+                .header().keyId(signingKey.getKid()).and() // 검증 시 사용할 키의 kid
+                .subject(ACCESS_TOKEN_SUBJECT) // Jwt Subject
+                .id(UUID.randomUUID().toString()) // 로그아웃 시 이 토큰만 폐기하기 위한 식별자
+                .issuedAt(issuedAt) // 모든 기기에서 로그아웃 시 이 시각 이전에 발급된 토큰을 폐기
+                .claim(ISSUED_AT_MILLIS_CLAIM, issuedAt.getTime())
+                .claim(ID_CLAIM, userId) // user id 저장
                 .claim(NAME_CLAIM, username) // username 저장
-                .setExpiration(validity) // set Expire Time 해당 옵션 안넣으면 expire안함
-                .signWith(key, SignatureAlgorithm.HS512) // 사용할 암호화 알고리즘과 , signature 에 들어갈 secret값 세팅
+                .claim(ROLE_CLAIM, role) // 역할 이름만 저장 (권한 목록은 RoleAuthorityRegistry에서 찾으므로 권한이 늘어나도 토큰 크기는 같음)
+                .expiration(validity) // set Expire Time 해당 옵션 안넣으면 expire안함
+                .signWith(signingKey.getKey(), signingKey.getAlgorithm()) // 사용할 암호화 알고리즘과 서명키 세팅 (jwt.algorithm)
                 .compact();
+        authMetrics.getAccessTokenSignTimer().record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        return accessToken;
     }
 
     /**
      * RefreshToken 생성
      * RefreshToken은 Claim에 email도 넣지 않으므로 withClaim() X
+     * 대신 저장소에서 인덱스로 찾을 수 있도록 jti(토큰식별자)를 넣는다.
      */
-    public String createRefreshToken() {
-        long now = (new Date()).getTime();
-        Date validity = new Date(now + refreshTokenExpiration);
-
-        return Jwts.builder()
-                .setSubject(REFRESH_TOKEN_SUBJECT)
-                .setExpiration(validity)
-                .signWith(key, SignatureAlgorithm.HS512)
+    public IssuedRefreshToken createRefreshToken() {
+        long start = System.nanoTime();
+        Date issuedAt = new Date();
+        Date validity = new Date(issuedAt.getTime() + refreshTokenExpiration);
+        String jti = UUID.randomUUID().toString();
+
+        SigningKey signingKey = jwtKeyRing.getSigningKey();
+        String refreshToken = Jwts.builder()
+                .header().keyId(signingKey.getKid()).and()
+                .subject(REFRESH_TOKEN_SUBJECT)
+                .id(jti)
+                .issuedAt(issuedAt)
+                .claim(ISSUED_AT_MILLIS_CLAIM, issuedAt.getTime())
+                .expiration(validity)
+                .signWith(signingKey.getKey(), signingKey.getAlgorithm())
                 .compact();
+        authMetrics.getRefreshTokenSignTimer().record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        return new IssuedRefreshToken(refreshToken, jti, validity.toInstant());
     }
 
     public void sendAccessToken(HttpServletResponse response, String accessToken) {
@@ -116,35 +189,76 @@ public class JwtService {
     }
 
     public Optional<String> extractAccessToken(HttpServletRequest request) {
-        log.info("extractAccessToken() 호출");
         return Optional.ofNullable(request.getHeader(accessHeader))
                 .filter(accessToken -> accessToken.startsWith(BEARER))
                 .map(accessToken -> accessToken.replace(BEARER, ""));
     }
 
     public Optional<String> extractRefreshToken(HttpServletRequest request) {
-        log.info("extractRefreshToken() 호출");
         return Optional.ofNullable(request.getHeader(refreshHeader))
                 .filter(refreshToken -> refreshToken.startsWith(BEARER))
                 .map(refreshToken -> refreshToken.replace(BEARER, ""));
     }
 
-    public Optional<String> extractUsername(String accessToken) {
+    /**
+     * AccessToken 검증 (sub가 AccessToken이 아니면 WRONG_TYPE)
+     */
+    public TokenVerification verifyAccessToken(String accessToken) {
+        return verify(accessToken, ACCESS_TOKEN_SUBJECT);
+    }
+
+    /**
+     * RefreshToken 검증 (sub가 RefreshToken이 아니면 WRONG_TYPE)
+     */
+    public TokenVerification verifyRefreshToken(String refreshToken) {
+        return verify(refreshToken, REFRESH_TOKEN_SUBJECT);
+    }
+
+    /**
+     * 토큰을 한 번만 파싱해서 서명 검증과 Payload 추출을 동시에 처리한다.
+     * 검증 결과(username, subject, 만료시간) 또는 실패 사유를 반환한다.
+     * 두 토큰은 같은 키로 서명되므로, 다른 Header에 넣은 토큰이 통과하지 않도록 sub도 확인한다.
+     * 처리 시간은 결과(valid, expired, invalid...)별로 auth.jwt.verify 지표에 기록한다.
+     */
+    private TokenVerification verify(String token, String expectedSubject) {
+        long start = System.nanoTime();
+        TokenVerification verification = parse(token);
+        if (verification.isValid() && !expectedSubject.equals(verification.getSubject())) {
+            log.debug("다른 종류의 토큰입니다. : expected={}, sub={}", expectedSubject, verification.getSubject());
+            verification = TokenVerification.failure(FailureReason.WRONG_TYPE);
+        }
+        authMetrics.verifyTimer(verification).record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        return verification;
+    }
+
+    private TokenVerification parse(String token) {
+        if (token == null || token.isBlank()) {
+            return TokenVerification.failure(FailureReason.EMPTY);
+        }
         try {
-            Claims claims = Jwts
-                .parserBuilder()
-                .setSigningKey(key)
-                .build()
-                .parseClaimsJws(accessToken)
-                .getBody();
-            log.info("extractUsername : {}", claims.get(NAME_CLAIM));
-            return Optional.ofNullable((String) claims.get(NAME_CLAIM));
-        } catch (Exception e) {
-            log.error("액세스 토큰이 유효하지 않습니다.");
-            return Optional.empty();
+            Claims claims = jwtParser.parseSignedClaims(token).getPayload();
+            // Claim 전체나 토큰 원문은 로그에 남기지 않습니다.
+            log.debug("토큰 검증 성공 : sub={}, jti={}", claims.getSubject(), claims.getId());
+            return TokenVerification.success(claims, ID_CLAIM, NAME_CLAIM, ROLE_CLAIM, ISSUED_AT_MILLIS_CLAIM);
+        // 검증 실패는 요청마다 로그를 남기지 않고 auth.jwt.verify{result=expired|unsupported|invalid} 지표로 집계합니다.
+        } catch (ExpiredJwtException e) {
+            log.debug("만료된 토큰입니다. {}", e.getMessage());
+            return TokenVerification.failure(FailureReason.EXPIRED);
+        } catch (UnsupportedJwtException e) {
+            log.debug("지원하지 않는 토큰입니다. {}", e.getMessage());
+            return TokenVerification.failure(FailureReason.UNSUPPORTED);
+        } catch (JwtException | IllegalArgumentException e) {
+            log.debug("유효하지 않은 토큰입니다. {}", e.getMessage());
+            return TokenVerification.failure(FailureReason.INVALID);
         }
     }
 
+    public Optional<String> extractUsername(String accessToken) {
+        TokenVerification verification = verifyAccessToken(accessToken);
+        log.debug("extractUsername : {}", verification.getUsername());
+        return Optional.ofNullable(verification.getUsername());
+    }
+
     public void setAccessTokenHeader(HttpServletResponse response, String accessToken) {
         response.setHeader(accessHeader, accessToken);
     }
@@ -153,23 +267,61 @@ public class JwtService {
         response.setHeader(refreshHeader, refreshToken);
     }
 
-    public void updateRefreshToken(String username, String refreshToken) {
-        userRepository.findByUsername(username).ifPresent(user -> user.updateRefreshToken(refreshToken));
+    /**
+     * 새로 발급한 RefreshToken을 저장한다. (기기마다 따로 저장되므로 여러 기기에서 동시에 로그인 가능)
+     * 저장소의 TTL은 jwt.refresh.expiration을 따른다.
+     */
+    public void updateRefreshToken(int userId, IssuedRefreshToken refreshToken) {
+        refreshTokenStore.save(StoredRefreshToken.builder()
+                .jti(refreshToken.getJti())
+                .tokenHash(TokenDigests.sha256(refreshToken.getToken()))
+                .userId(userId)
+                .expiresAt(refreshToken.getExpiresAt())
+                .build(), Duration.ofMillis(refreshTokenExpiration));
     }
 
-    public boolean isTokenValid(String token) {
-        try {
-            Claims claims = Jwts
-                .parserBuilder()
-                .setSigningKey(key)
-                .build()
-                .parseClaimsJws(token)
-                .getBody();
-            log.info("isTokenValid 호출 : {}", claims);
-            return true;
-        } catch (Exception e) {
-            log.error("유효하지 않은 토큰입니다. {}", e.getMessage());
-            return false;
+    /**
+     * 검증된 RefreshToken의 jti로 저장된 토큰을 찾고, 해시가 일치하면 토큰의 주인(User)을 반환한다.
+     * 모든 기기에서 로그아웃한 회원의 이전 RefreshToken은 저장소에 남아 있어도 사용할 수 없다.
+     */
+    public Optional<User> findRefreshTokenOwner(String refreshToken, TokenVerification verification) {
+        if (verification.getJti() == null) {
+            return Optional.empty();
+        }
+        byte[] tokenHash = TokenDigests.sha256(refreshToken).getBytes(StandardCharsets.US_ASCII);
+        return refreshTokenStore.find(verification.getJti())
+                .filter(stored -> MessageDigest.isEqual(stored.getTokenHash().getBytes(StandardCharsets.US_ASCII), tokenHash))
+                .filter(stored -> !tokenDenylist.isRevokedForUser(stored.getUserId(), verification.getIssuedAt()))
+                .flatMap(stored -> userRepository.findById(stored.getUserId()));
+    }
+
+    /**
+     * 사용한 RefreshToken을 저장소에서 consume 하고, 이 요청이 지운 경우에만 새 RefreshToken을 발급해서 저장한다. (RefreshToken Rotation)
+     * 같은 RefreshToken으로 동시에 요청하면(탈취된 토큰의 재사용 등) 새 토큰은 하나만 발급되고, 나머지는 Optional.empty()를 받는다.
+     */
+    public Optional<IssuedRefreshToken> rotateRefreshToken(String usedRefreshToken, String usedJti, User user) {
+        if (!refreshTokenStore.consume(usedJti, TokenDigests.sha256(usedRefreshToken))) {
+            return Optional.empty();
         }
+        IssuedRefreshToken reIssuedRefreshToken = createRefreshToken();
+        updateRefreshToken(user.getId(), reIssuedRefreshToken);
+        return Optional.of(reIssuedRefreshToken);
+    }
+
+    /**
+     * 로그아웃 시 RefreshToken을 저장소에서 지운다. (토큰의 주인이 아니면 지우지 않음)
+     */
+    public void deleteRefreshToken(String refreshToken, int userId) {
+        TokenVerification verification = verifyRefreshToken(refreshToken);
+        if (!verification.isValid()) {
+            return;
+        }
+        findRefreshTokenOwner(refreshToken, verification)
+                .filter(owner -> owner.getId() == userId)
+                .ifPresent(owner -> refreshTokenStore.consume(verification.getJti(), TokenDigests.sha256(refreshToken)));
+    }
+
+    public boolean isTokenValid(String accessToken) {
+        return verifyAccessToken(accessToken).isValid();
     }
 }
@@ -0,0 +1,115 @@
+package spring.study.security.global.jwt.store;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 단일 서버용 메모리 저장소
+ * jti 해시값으로 stripe를 나누고 stripe마다 별도의 lock을 사용해서, 서로 다른 토큰 간의 lock 경합을 줄인다.
+ * 만료된 토큰은 조회 시점에 제거하고, stripe마다 일정 횟수의 쓰기가 일어나면 한 번씩 정리한다.
+ */
+@Component
+@ConditionalOnProperty(name = "jwt.refresh.store", havingValue = "memory", matchIfMissing = true)
+public class InMemoryRefreshTokenStore implements RefreshTokenStore {
+
+    private static final int STRIPE_COUNT = 64; // 2의 거듭제곱이어야 함
+    private static final int SWEEP_INTERVAL = 1024;
+
+    private final Stripe[] stripes = new Stripe[STRIPE_COUNT];
+
+    public InMemoryRefreshTokenStore() {
+        for (int i = 0; i < STRIPE_COUNT; i++) {
+            stripes[i] = new Stripe();
+        }
+    }
+
+    @Override
+    public void save(StoredRefreshToken refreshToken, Duration ttl) {
+        Instant now = Instant.now();
+        StoredRefreshToken entry = StoredRefreshToken.builder()
+                .jti(refreshToken.getJti())
+                .tokenHash(refreshToken.getTokenHash())
+                .userId(refreshToken.getUserId())
+                .expiresAt(earliest(refreshToken.getExpiresAt(), now.plus(ttl)))
+                .build();
+
+        Stripe stripe = stripeFor(entry.getJti());
+        stripe.lock.lock();
+        try {
+            stripe.tokens.put(entry.getJti(), entry);
+            if (++stripe.writesSinceSweep >= SWEEP_INTERVAL) {
+                stripe.tokens.values().removeIf(token -> token.isExpired(now));
+                stripe.writesSinceSweep = 0;
+            }
+        } finally {
+            stripe.lock.unlock();
+        }
+    }
+
+    @Override
+    public Optional<StoredRefreshToken> find(String jti) {
+        Stripe stripe = stripeFor(jti);
+        stripe.lock.lock();
+        try {
+            StoredRefreshToken token = stripe.tokens.get(jti);
+            if (token != null && token.isExpired(Instant.now())) {
+                stripe.tokens.remove(jti);
+                return Optional.empty();
+            }
+            return Optional.ofNullable(token);
+        } finally {
+            stripe.lock.unlock();
+        }
+    }
+
+    @Override
+    public boolean consume(String jti, String expectedHash) {
+        Stripe stripe = stripeFor(jti);
+        stripe.lock.lock();
+        try {
+            StoredRefreshToken token = stripe.tokens.get(jti);
+            if (token == null) {
+                return false;
+            }
+            if (token.isExpired(Instant.now())) {
+                stripe.tokens.remove(jti);
+                return false;
+            }
+            if (!MessageDigest.isEqual(
+                    token.getTokenHash().getBytes(StandardCharsets.US_ASCII),
+                    expectedHash.getBytes(StandardCharsets.US_ASCII))) {
+                return false;
+            }
+            return stripe.tokens.remove(jti) != null;
+        } finally {
+            stripe.lock.unlock();
+        }
+    }
+
+    private Stripe stripeFor(String jti) {
+        int hash = jti.hashCode();
+        return stripes[(hash ^ (hash >>> 16)) & (STRIPE_COUNT - 1)];
+    }
+
+    private static Instant earliest(Instant a, Instant b) {
+        if (a == null) {
+            return b;
+        }
+        return a.isBefore(b) ? a : b;
+    }
+
+    private static final class Stripe {
+        private final ReentrantLock lock = new ReentrantLock();
+        private final Map<String, StoredRefreshToken> tokens = new HashMap<>();
+        private int writesSinceSweep;
+    }
+}
@@ -0,0 +1,61 @@
+package spring.study.security.global.jwt.store;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import spring.study.security.domain.model.RefreshToken;
+import spring.study.security.domain.repository.RefreshTokenRepository;
+import spring.study.security.domain.repository.UserRepository;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Optional;
+
+/**
+ * MySQL(RefreshToken 테이블) 저장소
+ * 서버 재시작 후에도 토큰을 유지해야 하는 경우에 사용한다.
+ */
+@Component
+@ConditionalOnProperty(name = "jwt.refresh.store", havingValue = "jpa")
+public class JpaRefreshTokenStore implements RefreshTokenStore {
+
+    private final RefreshTokenRepository refreshTokenRepository;
+    private final UserRepository userRepository;
+
+    public JpaRefreshTokenStore(RefreshTokenRepository refreshTokenRepository, UserRepository userRepository) {
+        this.refreshTokenRepository = refreshTokenRepository;
+        this.userRepository = userRepository;
+    }
+
+    @Override
+    @Transactional
+    public void save(StoredRefreshToken refreshToken, Duration ttl) {
+        refreshTokenRepository.save(RefreshToken.builder()
+                .jti(refreshToken.getJti())
+                .tokenHash(refreshToken.getTokenHash())
+                .user(userRepository.getReferenceById(refreshToken.getUserId()))
+                .expiresAt(Timestamp.from(refreshToken.getExpiresAt()))
+                .build());
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Optional<StoredRefreshToken> find(String jti) {
+        return refreshTokenRepository.findByJti(jti)
+                .map(token -> StoredRefreshToken.builder()
+                        .jti(token.getJti())
+                        .tokenHash(token.getTokenHash())
+                        .userId(token.getUser().getId())
+                        .expiresAt(token.getExpiresAt().toInstant())
+                        .build())
+                .filter(token -> !token.isExpired(Instant.now()));
+    }
+
+    @Override
+    @Transactional
+    public boolean consume(String jti, String expectedHash) {
+        // 조건부 DELETE 한 번으로 처리한다. (동시에 요청해도 1건을 지운 트랜잭션은 하나뿐)
+        return refreshTokenRepository.deleteByJti(jti, expectedHash, Timestamp.from(Instant.now())) == 1;
+    }
+}
@@ -0,0 +1,75 @@
+package spring.study.security.global.jwt.store;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Redis 프로토콜 저장소 (Redis, Valkey 등 RESP 호환 서버)
+ * 토큰마다 key 하나를 SET EX로 저장하므로, 만료는 서버의 TTL이 처리한다.
+ * value 형식 : {userId}:{tokenHash}:{expiresAt(epoch millis)}
+ */
+@Component
+@ConditionalOnProperty(name = "jwt.refresh.store", havingValue = "redis")
+public class RedisRefreshTokenStore implements RefreshTokenStore {
+
+    private static final String KEY_PREFIX = "refresh_token:";
+    private static final String DELIMITER = ":";
+    // GET 후 DEL 사이에 다른 요청이 끼어들지 않도록, 해시 비교와 삭제를 서버에서 한 번에 실행한다.
+    private static final RedisScript<Long> CONSUME_SCRIPT = new DefaultRedisScript<>("""
+            local value = redis.call('GET', KEYS[1])
+            if not value then
+                return 0
+            end
+            local hash = string.match(value, '^[^:]*:([^:]*):')
+            if hash ~= ARGV[1] then
+                return 0
+            end
+            return redis.call('DEL', KEYS[1])
+            """, Long.class);
+
+    private final StringRedisTemplate redisTemplate;
+
+    public RedisRefreshTokenStore(StringRedisTemplate redisTemplate) {
+        this.redisTemplate = redisTemplate;
+    }
+
+    @Override
+    public void save(StoredRefreshToken refreshToken, Duration ttl) {
+        String value = refreshToken.getUserId()
+                + DELIMITER + refreshToken.getTokenHash()
+                + DELIMITER + refreshToken.getExpiresAt().toEpochMilli();
+        redisTemplate.opsForValue().set(KEY_PREFIX + refreshToken.getJti(), value, ttl);
+    }
+
+    @Override
+    public Optional<StoredRefreshToken> find(String jti) {
+        String value = redisTemplate.opsForValue().get(KEY_PREFIX + jti);
+        if (value == null) {
+            return Optional.empty();
+        }
+        String[] parts = value.split(DELIMITER, 3);
+        if (parts.length != 3) {
+            return Optional.empty();
+        }
+        return Optional.of(StoredRefreshToken.builder()
+                .jti(jti)
+                .userId(Integer.parseInt(parts[0]))
+                .tokenHash(parts[1])
+                .expiresAt(Instant.ofEpochMilli(Long.parseLong(parts[2])))
+                .build());
+    }
+
+    @Override
+    public boolean consume(String jti, String expectedHash) {
+        Long deleted = redisTemplate.execute(CONSUME_SCRIPT, List.of(KEY_PREFIX + jti), expectedHash);
+        return deleted != null && deleted == 1L;
+    }
+}
@@ -0,0 +1,23 @@
+package spring.study.security.global.jwt.store;
+
+import java.time.Duration;
+import java.util.Optional;
+
+/**
+ * RefreshToken 저장소
+ * jwt.refresh.store 설정값(memory, redis, jpa)에 따라 구현체가 선택된다.
+ * 모든 구현체는 ttl이 지난 토큰을 더 이상 반환하지 않아야 한다.
+ */
+public interface RefreshTokenStore {
+
+    void save(StoredRefreshToken refreshToken, Duration ttl);
+
+    Optional<StoredRefreshToken> find(String jti);
+
+    /**
+     * jti로 저장된 토큰의 해시가 expectedHash와 같으면 지우고 true를 반환한다.
+     * 조회와 삭제를 한 번에 처리하므로, 같은 토큰으로 동시에 요청해도 true를 받는 호출은 하나뿐이다.
+     * 토큰이 없거나, 만료되었거나, 해시가 다르면 지우지 않고 false를 반환한다.
+     */
+    boolean consume(String jti, String expectedHash);
+}
@@ -0,0 +1,25 @@
+package spring.study.security.global.jwt.store;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+
+import java.time.Instant;
+
+/**
+ * 저장소에 보관되는 RefreshToken 정보 (토큰 원문 대신 SHA-256 해시를 보관)
+ */
+@Getter
+@Builder
+@AllArgsConstructor
+public class StoredRefreshToken {
+
+    private final String jti;
+    private final String tokenHash;
+    private final int userId;
+    private final Instant expiresAt;
+
+    public boolean isExpired(Instant now) {
+        return !expiresAt.isAfter(now);
+    }
+}
@@ -0,0 +1,27 @@
+package spring.study.security.global.jwt.util;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+
+/**
+ * 토큰 원문 대신 메모리/DB에 보관할 고정 길이(SHA-256, 64자 hex) 다이제스트를 만든다.
+ */
+public final class TokenDigests {
+
+    private static final String ALGORITHM = "SHA-256";
+
+    private TokenDigests() {
+    }
+
+    public static String sha256(String token) {
+        try {
+            // MessageDigest는 thread-safe 하지 않으므로 호출마다 새로 만든다.
+            MessageDigest digest = MessageDigest.getInstance(ALGORITHM);
+            return HexFormat.of().formatHex(digest.digest(token.getBytes(StandardCharsets.US_ASCII)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(ALGORITHM + " 알고리즘을 사용할 수 없습니다.", e);
+        }
+    }
+}
@@ -0,0 +1,28 @@
+package spring.study.security.global.logging;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * 요청마다 발생하는 성공 로그(로그인 성공 등)를 log.sampling.success-rate 비율만 남긴다.
+ * 성공/실패 건수는 AuthMetrics의 지표로 집계하므로, 로그는 흐름을 확인할 수 있을 정도만 있으면 된다.
+ * ThreadLocalRandom을 사용하므로 스레드 간 경합이 없다.
+ */
+@Component
+public class LogSampler {
+
+    private final double successRate;
+
+    public LogSampler(@Value("${log.sampling.success-rate}") double successRate) {
+        if (successRate < 0 || successRate > 1) {
+            throw new IllegalArgumentException("log.sampling.success-rate는 0 ~ 1 사이여야 합니다. : " + successRate);
+        }
+        this.successRate = successRate;
+    }
+
+    public boolean sampleSuccess() {
+        return successRate >= 1 || (successRate > 0 && ThreadLocalRandom.current().nextDouble() < successRate);
+    }
+}
@@ -0,0 +1,14 @@
+package spring.study.security.global.login.authority;
+
+/**
+ * RolePermission 테이블에 저장되는 권한 이름
+ */
+public final class Permissions {
+
+    public static final String USER_ACCESS = "user:access";
+    public static final String MANAGER_ACCESS = "manager:access";
+    public static final String ADMIN_ACCESS = "admin:access";
+
+    private Permissions() {
+    }
+}
@@ -0,0 +1,97 @@
+package spring.study.security.global.login.authority;
+
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.stereotype.Component;
+import spring.study.security.domain.model.Role;
+import spring.study.security.domain.repository.RoleRepository;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 역할별 권한 목록(GrantedAuthority Set) 캐시
+ * 역할 하나의 권한 목록 = 자신과 포함한 역할(inheritsFrom)의 이름 + 그 역할들의 모든 권한
+ * (예 : ROLE_ADMIN -> ROLE_ADMIN, ROLE_MANAGER, ROLE_USER, admin:access, manager:access, user:access)
+ *
+ * 서버 시작 시 Role/RolePermission 테이블을 한 번에 읽어 모든 역할의 권한 목록을 미리 계산하고,
+ * login.authority.refresh-interval마다 다시 읽어 통째로 교체한다. (요청 처리 중에는 DB 조회나 잠금 없음)
+ * 같은 역할의 회원은 같은 Set 객체를 공유하므로 인가 확인은 Set.contains() 한 번이다.
+ */
+@Slf4j
+@Component
+public class RoleAuthorityRegistry {
+
+    private final RoleRepository roleRepository;
+    private volatile Map<String, Set<GrantedAuthority>> authorities = Map.of();
+    // 테이블에 없는 역할은 역할 이름만 권한으로 가진다. (갱신 전에 추가된 역할 등)
+    private final Map<String, Set<GrantedAuthority>> unknownRoles = new ConcurrentHashMap<>();
+
+    public RoleAuthorityRegistry(RoleRepository roleRepository) {
+        this.roleRepository = roleRepository;
+    }
+
+    @PostConstruct
+    public void init() {
+        reload();
+        log.info("역할별 권한 목록 : {}", authorities);
+    }
+
+    @Scheduled(fixedDelayString = "${login.authority.refresh-interval}", initialDelayString = "${login.authority.refresh-interval}")
+    public void reload() {
+        load(roleRepository.findAllWithPermissions());
+    }
+
+    public Set<GrantedAuthority> authoritiesOf(String role) {
+        if (role == null) {
+            return Set.of();
+        }
+        Set<GrantedAuthority> resolved = authorities.get(role);
+        if (resolved != null) {
+            return resolved;
+        }
+        return unknownRoles.computeIfAbsent(role, name -> Set.of(new SimpleGrantedAuthority(name)));
+    }
+
+    /**
+     * 역할 목록으로 권한 목록을 다시 계산해서 교체한다.
+     */
+    public void load(Collection<Role> roles) {
+        Map<String, Role> byName = new HashMap<>();
+        roles.forEach(role -> byName.put(role.getName(), role));
+        // 같은 이름의 권한은 같은 GrantedAuthority 객체를 사용한다.
+        Map<String, GrantedAuthority> interned = new HashMap<>();
+        Map<String, Set<GrantedAuthority>> resolved = new HashMap<>();
+        for (Role role : roles) {
+            resolved.put(role.getName(), resolve(role, byName, interned));
+        }
+        authorities = Map.copyOf(resolved);
+        unknownRoles.clear();
+        log.debug("역할별 권한 목록을 갱신했습니다. 역할 수 : {}", resolved.size());
+    }
+
+    private Set<GrantedAuthority> resolve(Role role, Map<String, Role> byName, Map<String, GrantedAuthority> interned) {
+        Set<String> visited = new LinkedHashSet<>();
+        Set<GrantedAuthority> granted = new LinkedHashSet<>();
+        Role current = role;
+        while (current != null) {
+            if (!visited.add(current.getName())) {
+                log.warn("역할 포함 관계가 순환합니다. : {}", visited);
+                break;
+            }
+            granted.add(interned.computeIfAbsent(current.getName(), SimpleGrantedAuthority::new));
+            for (String permission : current.getPermissions()) {
+                granted.add(interned.computeIfAbsent(permission, SimpleGrantedAuthority::new));
+            }
+            current = current.getInheritsFrom() == null ? null : byName.get(current.getInheritsFrom());
+        }
+        return Set.copyOf(granted);
+    }
+}
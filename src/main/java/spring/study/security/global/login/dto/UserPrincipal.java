@@ -0,0 +1,107 @@
+package spring.study.security.global.login.dto;
+
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.oauth2.core.user.OAuth2User;
+import spring.study.security.domain.model.User;
+
+import java.io.Serializable;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * SecurityContext에 들어가는 인증된 회원 정보 (Security Session => Authentication => UserPrincipal)
+ * 아이디/비밀번호 로그인(UserDetails), 소셜 로그인(OAuth2User), JWT 인증 모두 이 타입을 principal로 사용한다.
+ *
+ * JPA 엔티티(User) 대신 필요한 값(id, username, role)만 복사해서 가지는 불변 객체이므로
+ * 캐시하거나 직렬화해도 Hibernate 세션/지연 로딩 상태가 함께 딸려가지 않는다.
+ * 권한 목록은 RoleAuthorityRegistry가 역할별로 미리 계산해둔 Set을 모든 요청이 공유한다.
+ *
+ * password는 로그인 시 비밀번호 비교에만 사용하고,
+ * 인증이 끝나면 UserPrincipalAuthenticationProvider가 password 없는 객체로 바꿔서 SecurityContext에 넣는다.
+ */
+public record UserPrincipal(
+        int id,
+        String username,
+        String password,
+        String role,
+        Set<GrantedAuthority> authorities
+) implements UserDetails, OAuth2User, Serializable {
+
+    /**
+     * 비밀번호 없이 인증 정보만 가지는 principal (소셜 로그인, JWT 인증)
+     */
+    public static UserPrincipal of(int id, String username, String role, Set<GrantedAuthority> authorities) {
+        return new UserPrincipal(id, username, null, role, authorities);
+    }
+
+    public static UserPrincipal of(User user, Set<GrantedAuthority> authorities) {
+        return of(user.getId(), user.getUsername(), user.getRole(), authorities);
+    }
+
+    /**
+     * 로그인 시 비밀번호 비교용 (UserDetailsService에서만 사용)
+     */
+    public static UserPrincipal withPassword(User user, Set<GrantedAuthority> authorities) {
+        return new UserPrincipal(user.getId(), user.getUsername(), user.getPassword(), user.getRole(), authorities);
+    }
+
+    public UserPrincipal withoutPassword() {
+        return password == null ? this : new UserPrincipal(id, username, null, role, authorities);
+    }
+
+    // 해당 User의 권한을 리턴하는 곳!
+    @Override
+    public Set<GrantedAuthority> getAuthorities() {
+        return authorities;
+    }
+
+    @Override
+    public String getPassword() {
+        return password;
+    }
+
+    @Override
+    public String getUsername() {
+        return username;
+    }
+
+    // OAuth2User : Provider의 userAttributes는 로그인 처리에만 사용하고 principal에는 보관하지 않는다.
+    @Override
+    public Map<String, Object> getAttributes() {
+        return Map.of();
+    }
+
+    @Override
+    public String getName() {
+        return username;
+    }
+
+    @Override
+    public boolean isAccountNonExpired() {
+        return true;
+    }
+
+    @Override
+    public boolean isAccountNonLocked() {
+        return true;
+    }
+
+    @Override
+    public boolean isCredentialsNonExpired() {
+        return true;
+    }
+
+    @Override
+    public boolean isEnabled() {
+        // 우리사이트에서 1년 동안 회원이 로그인을 안하면 휴면 계정으로 전환하기로 결정했음.
+        // 로그인 날짜를 가져와서 1년이 지났으면 return false; 하는 식
+        return true;
+    }
+
+    // 비밀번호 해시가 로그에 남지 않도록 제외
+    @Override
+    public String toString() {
+        return "UserPrincipal[id=" + id + ", username=" + username + ", role=" + role + "]";
+    }
+}
@@ -0,0 +1,55 @@
+package spring.study.security.global.login.executor;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import jakarta.annotation.PreDestroy;
+import lombok.Getter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 비밀번호 해싱(BCrypt) 전용 스레드풀
+ * CPU 연산이므로 코어 수만큼만 스레드를 두고, 대기열이 가득 차면 RejectedExecutionException으로 즉시 거절한다.
+ * 활성 스레드 수, 대기열 크기, 처리/거절 건수는 executor.* 지표(name=passwordHashing)로 노출된다.
+ * (Executor 타입 Bean으로 등록하면 Spring Boot의 기본 applicationTaskExecutor가 생성되지 않으므로 별도 클래스로 감싼다.)
+ */
+@Component
+public class PasswordHashingExecutor {
+
+    @Getter
+    private final ThreadPoolExecutor threadPool;
+
+    public PasswordHashingExecutor(
+            @Value("${login.async.pool-size}") int poolSize,
+            @Value("${login.async.queue-capacity}") int queueCapacity,
+            MeterRegistry meterRegistry
+    ) {
+        int threads = poolSize > 0 ? poolSize : Runtime.getRuntime().availableProcessors();
+        this.threadPool = new ThreadPoolExecutor(
+                threads,
+                threads,
+                0L,
+                TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                new CustomizableThreadFactory("password-hashing-"),
+                new ThreadPoolExecutor.AbortPolicy()
+        );
+        new ExecutorServiceMetrics(threadPool, "passwordHashing", Tags.empty()).bindTo(meterRegistry);
+    }
+
+    public void execute(Runnable task) throws RejectedExecutionException {
+        threadPool.execute(task);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        threadPool.shutdown();
+    }
+}
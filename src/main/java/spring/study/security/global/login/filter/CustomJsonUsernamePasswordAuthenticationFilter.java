@@ -1,21 +1,32 @@
 package spring.study.security.global.login.filter;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.AsyncContext;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletRequest;
+import jakarta.servlet.ServletResponse;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
 import org.springframework.security.authentication.AuthenticationServiceException;
+import org.springframework.security.authentication.InternalAuthenticationServiceException;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.AuthenticationException;
+import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.web.authentication.AbstractAuthenticationProcessingFilter;
 import org.springframework.security.web.util.matcher.AntPathRequestMatcher;
-import org.springframework.util.StreamUtils;
+import spring.study.security.domain.dto.LoginDto;
+import spring.study.security.global.login.parser.LoginRequestParser;
+import spring.study.security.global.login.ratelimit.LoginRateLimiter;
 
 import java.io.IOException;
-import java.nio.charset.StandardCharsets;
-import java.util.Map;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 @Slf4j
 public class CustomJsonUsernamePasswordAuthenticationFilter extends AbstractAuthenticationProcessingFilter {
@@ -23,34 +34,198 @@ public class CustomJsonUsernamePasswordAuthenticationFilter extends AbstractAuth
     private static final String DEFAULT_LOGIN_REQUEST_URL = "/login"; // "/login"으로 오는 요청을 처리
     private static final String HTTP_METHOD = "POST"; // 로그인 HTTP 메소드는 POST
     private static final String CONTENT_TYPE = "application/json"; // JSON 타입의 데이터로 오는 로그인 요청만 처리
-    private static final String USERNAME_KEY = "username"; // 회원 로그인 시 이메일 요청 JSON Key : "username"
-    private static final String PASSWORD_KEY = "password"; // 회원 로그인 시 비밀번호 요청 JSon Key : "password"
     private static final AntPathRequestMatcher DEFAULT_LOGIN_PATH_REQUEST_MATCHER =
             new AntPathRequestMatcher(DEFAULT_LOGIN_REQUEST_URL, HTTP_METHOD); // "/login" + POST로 온 요청에 매칭된다.
-    private final ObjectMapper objectMapper;
+    private final LoginRequestParser loginRequestParser;
+    private final LoginRateLimiter loginRateLimiter;
 
-    public CustomJsonUsernamePasswordAuthenticationFilter(ObjectMapper objectMapper) {
+    // null이 아니면, 비밀번호 검증을 요청 스레드가 아닌 해당 Executor에서 비동기로 처리한다.
+    private Executor loginExecutor;
+    private long retryAfterSeconds = 1;
+    private long asyncTimeoutMillis = 30_000;
+
+    public CustomJsonUsernamePasswordAuthenticationFilter(LoginRequestParser loginRequestParser, LoginRateLimiter loginRateLimiter) {
         super(DEFAULT_LOGIN_PATH_REQUEST_MATCHER); // 위에서 설정한 "login" + POST로 온 요청을 처리하기 위해 설정
-        this.objectMapper = objectMapper;
+        this.loginRequestParser = loginRequestParser;
+        this.loginRateLimiter = loginRateLimiter;
+    }
+
+    public void setLoginExecutor(Executor loginExecutor, long retryAfterSeconds, long asyncTimeoutMillis) {
+        this.loginExecutor = loginExecutor;
+        this.retryAfterSeconds = retryAfterSeconds;
+        this.asyncTimeoutMillis = asyncTimeoutMillis;
+    }
+
+    @Override
+    public void doFilter(ServletRequest req, ServletResponse res, FilterChain chain) throws IOException, ServletException {
+        HttpServletRequest request = (HttpServletRequest) req;
+        HttpServletResponse response = (HttpServletResponse) res;
+        if (loginExecutor == null || !request.isAsyncSupported() || !requiresAuthentication(request, response)) {
+            super.doFilter(req, res, chain);
+            return;
+        }
+        doFilterAsync(request, response);
     }
 
     @Override
     public Authentication attemptAuthentication(HttpServletRequest request, HttpServletResponse response) throws AuthenticationException, IOException, ServletException {
-        log.info("CustomJsonUsernamePasswordAuthenticationFilter의 attemptAuthentication() 호출");
-        if(request.getContentType() == null || !request.getContentType().equals(CONTENT_TYPE)  ) {
-            throw new AuthenticationServiceException("Authentication Content-Type not supported: " + request.getContentType());
+        log.debug("CustomJsonUsernamePasswordAuthenticationFilter의 attemptAuthentication() 호출");
+        return this.getAuthenticationManager().authenticate(createAuthenticationRequest(request));
+    }
+
+    /**
+     * 요청 Body는 요청 스레드에서 읽고, BCrypt 검증(AuthenticationManager)만 전용 스레드풀에 넘긴다.
+     * 스레드풀의 대기열이 가득 차거나, login.async.timeout-millis 안에 처리하지 못하면 503 + Retry-After로 응답한다.
+     * 응답은 작업 스레드와 타임아웃(컨테이너 스레드) 중 먼저 끝낸 쪽 하나만 쓴다.
+     */
+    private void doFilterAsync(HttpServletRequest request, HttpServletResponse response) throws IOException, ServletException {
+        UsernamePasswordAuthenticationToken authRequest;
+        try {
+            authRequest = createAuthenticationRequest(request);
+        } catch (AuthenticationException e) {
+            unsuccessfulAuthentication(request, response, e);
+            return;
+        }
+
+        AsyncLogin asyncLogin = new AsyncLogin(request.startAsync(request, response));
+        asyncLogin.asyncContext.setTimeout(asyncTimeoutMillis);
+        asyncLogin.asyncContext.addListener(asyncLogin);
+        try {
+            loginExecutor.execute(() -> authenticateAsync(asyncLogin, request, response, authRequest));
+        } catch (RejectedExecutionException e) {
+            log.warn("로그인 요청이 많아 처리를 거절했습니다.");
+            if (asyncLogin.finish()) {
+                sendServiceUnavailable(response, "로그인 요청이 많습니다. 잠시 후 다시 시도해주세요.");
+                asyncLogin.complete();
+            }
+        }
+    }
+
+    private void authenticateAsync(AsyncLogin asyncLogin, HttpServletRequest request, HttpServletResponse response,
+                                   UsernamePasswordAuthenticationToken authRequest) {
+        // 대기열에서 기다리는 동안 이미 타임아웃으로 응답했다면 BCrypt 검증도 하지 않는다.
+        if (asyncLogin.isFinished()) {
+            return;
+        }
+        Authentication authResult = null;
+        AuthenticationException failure = null;
+        try {
+            authResult = this.getAuthenticationManager().authenticate(authRequest);
+        } catch (AuthenticationException e) {
+            failure = e;
+        } catch (Exception e) {
+            log.error("비동기 로그인 처리 중 오류가 발생했습니다.", e);
+            failure = new InternalAuthenticationServiceException(e.getMessage(), e);
+        }
+
+        // 검증 도중 타임아웃이 났다면 컨테이너가 이미 응답했으므로, 토큰을 발급하거나 응답을 쓰지 않는다.
+        if (!asyncLogin.finish()) {
+            log.debug("타임아웃 이후에 로그인 처리가 끝나서 결과를 버립니다.");
+            return;
+        }
+        try {
+            if (failure == null) {
+                successfulAuthentication(request, response, null, authResult);
+            } else {
+                handleFailure(request, response, failure);
+            }
+        } catch (Exception e) {
+            log.error("로그인 성공 응답을 보내는 중 오류가 발생했습니다.", e);
+        } finally {
+            // 작업 스레드는 재사용되므로 SecurityContext를 반드시 비운다.
+            SecurityContextHolder.clearContext();
+            asyncLogin.complete();
         }
+    }
 
-        String messageBody = StreamUtils.copyToString(request.getInputStream(), StandardCharsets.UTF_8);
+    private void sendServiceUnavailable(HttpServletResponse response, String message) throws IOException {
+        response.setStatus(HttpServletResponse.SC_SERVICE_UNAVAILABLE);
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds));
+        response.setCharacterEncoding("UTF-8");
+        response.setContentType("text/plain;charset=UTF-8");
+        response.getWriter().write(message);
+    }
 
+    private void handleFailure(HttpServletRequest request, HttpServletResponse response, AuthenticationException exception) {
+        try {
+            unsuccessfulAuthentication(request, response, exception);
+        } catch (Exception e) {
+            log.error("로그인 실패 응답을 보내는 중 오류가 발생했습니다.", e);
+        }
+    }
+
+    /**
+     * 비동기 로그인 하나의 응답 상태
+     * 작업 스레드와 컨테이너의 타임아웃/오류 처리 중 finish()에 먼저 성공한 쪽만 응답을 쓰고 complete()를 호출한다.
+     */
+    private class AsyncLogin implements AsyncListener {
+
+        private final AsyncContext asyncContext;
+        private final AtomicBoolean finished = new AtomicBoolean();
+
+        private AsyncLogin(AsyncContext asyncContext) {
+            this.asyncContext = asyncContext;
+        }
+
+        private boolean finish() {
+            return finished.compareAndSet(false, true);
+        }
+
+        private boolean isFinished() {
+            return finished.get();
+        }
+
+        private void complete() {
+            try {
+                asyncContext.complete();
+            } catch (IllegalStateException e) {
+                // 응답을 쓰는 도중에 연결 오류로 컨테이너가 먼저 요청을 끝낸 경우
+                log.debug("이미 끝난 비동기 요청입니다. {}", e.getMessage());
+            }
+        }
+
+        @Override
+        public void onTimeout(AsyncEvent event) throws IOException {
+            if (!finish()) {
+                return;
+            }
+            log.warn("로그인 처리 시간({}ms)을 초과했습니다.", asyncTimeoutMillis);
+            sendServiceUnavailable((HttpServletResponse) event.getSuppliedResponse(), "로그인 처리가 지연되고 있습니다. 잠시 후 다시 시도해주세요.");
+            complete();
+        }
+
+        @Override
+        public void onError(AsyncEvent event) {
+            // 클라이언트 연결이 끊긴 경우 등, 응답을 쓸 수 없으므로 작업 스레드가 응답하지 않도록 막기만 한다.
+            if (finish()) {
+                log.debug("비동기 로그인 처리 중 연결 오류가 발생했습니다. {}", String.valueOf(event.getThrowable()));
+                complete();
+            }
+        }
+
+        @Override
+        public void onComplete(AsyncEvent event) {
+        }
+
+        @Override
+        public void onStartAsync(AsyncEvent event) {
+        }
+    }
+
+    private UsernamePasswordAuthenticationToken createAuthenticationRequest(HttpServletRequest request) throws IOException {
+        if(request.getContentType() == null || !request.getContentType().equals(CONTENT_TYPE)  ) {
+            throw new AuthenticationServiceException("Authentication Content-Type not supported: " + request.getContentType());
+        }
 
-        Map<String, String> usernamePasswordMap = objectMapper.readValue(messageBody, Map.class);
+        // 시도 제한은 BCrypt 검증 전에 확인한다. IP는 Body를 읽기 전에, username은 Body를 읽은 직후에 확인한다.
+        loginRateLimiter.checkIp(request.getRemoteAddr());
 
-        String username = usernamePasswordMap.get(USERNAME_KEY);
-        String password = usernamePasswordMap.get(PASSWORD_KEY);
+        // Body를 String/Map으로 복사하지 않고 스트리밍으로 읽는다. (크기 제한, 알 수 없는 필드는 바로 거절)
+        LoginDto loginDto = loginRequestParser.parse(request.getInputStream(), request.getContentLengthLong());
 
-        UsernamePasswordAuthenticationToken authRequest = new UsernamePasswordAuthenticationToken(username, password);//principal 과 credentials 전달
+        request.setAttribute(LoginRateLimiter.USERNAME_ATTRIBUTE, loginDto.getUsername());
+        loginRateLimiter.checkUsername(loginDto.getUsername());
 
-        return this.getAuthenticationManager().authenticate(authRequest);
+        return new UsernamePasswordAuthenticationToken(loginDto.getUsername(), loginDto.getPassword());//principal 과 credentials 전달
     }
 }
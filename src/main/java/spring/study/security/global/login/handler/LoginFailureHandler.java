@@ -2,26 +2,55 @@ package spring.study.security.global.login.handler;
 
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.authentication.BadCredentialsException;
 import org.springframework.security.core.AuthenticationException;
 import org.springframework.security.web.authentication.SimpleUrlAuthenticationFailureHandler;
+import spring.study.security.global.metrics.AuthMetrics;
+import spring.study.security.global.login.ratelimit.LoginRateLimiter;
+import spring.study.security.global.login.ratelimit.LoginThrottledException;
 
 import java.io.IOException;
 
 /**
  * JWT 로그인 실패 시 처리하는 핸들러
  * SimpleUrlAuthenticationFailureHandler를 상속받아서 구현
+ * 아이디/비밀번호가 틀린 경우 LoginRateLimiter에 실패를 기록하고, 시도 제한에 걸린 경우 429로 응답한다.
+ * 실패마다 로그를 남기지 않고 auth.login.failure{cause} 지표로 집계한다. (시도 제한은 auth.login.throttled)
  */
 @Slf4j
+@RequiredArgsConstructor
 public class LoginFailureHandler extends SimpleUrlAuthenticationFailureHandler {
 
+    private final LoginRateLimiter loginRateLimiter;
+    private final AuthMetrics authMetrics;
+
     @Override
     public void onAuthenticationFailure(HttpServletRequest request, HttpServletResponse response,
                                         AuthenticationException exception) throws IOException {
+        if (exception instanceof LoginThrottledException throttled) {
+            response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+            response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(throttled.getRetryAfterSeconds()));
+            response.setCharacterEncoding("UTF-8");
+            response.setContentType("text/plain;charset=UTF-8");
+            response.getWriter().write("로그인 시도가 너무 많습니다. 잠시 후 다시 시도해주세요.");
+            log.debug("로그인 시도가 제한되었습니다. 메시지 : {}", exception.getMessage());
+            return;
+        }
+        // 존재하지 않는 아이디도 BadCredentialsException으로 감싸져서 오므로, 아이디/비밀번호 오류만 실패로 기록한다.
+        if (exception instanceof BadCredentialsException) {
+            loginRateLimiter.recordFailure(request.getRemoteAddr(), (String) request.getAttribute(LoginRateLimiter.USERNAME_ATTRIBUTE));
+            authMetrics.loginFailureCounter("bad_credentials").increment();
+        } else {
+            authMetrics.loginFailureCounter("other").increment();
+        }
         response.setStatus(HttpServletResponse.SC_BAD_REQUEST);
         response.setCharacterEncoding("UTF-8");
         response.setContentType("text/plain;charset=UTF-8");
         response.getWriter().write("로그인 실패! 이메일이나 비밀번호를 확인해주세요.");
-        log.info("로그인에 실패했습니다. 메시지 : {}", exception.getMessage());
+        log.debug("로그인에 실패했습니다. 메시지 : {}", exception.getMessage());
     }
 }
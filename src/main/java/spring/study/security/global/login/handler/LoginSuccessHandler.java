@@ -5,42 +5,36 @@ import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.security.core.Authentication;
-import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.web.authentication.SimpleUrlAuthenticationSuccessHandler;
-import org.springframework.transaction.annotation.Transactional;
-import spring.study.security.domain.repository.UserRepository;
+import spring.study.security.global.jwt.dto.IssuedRefreshToken;
 import spring.study.security.global.jwt.service.JwtService;
+import spring.study.security.global.logging.LogSampler;
+import spring.study.security.global.login.dto.UserPrincipal;
+import spring.study.security.global.login.ratelimit.LoginRateLimiter;
 
 @Slf4j
 @RequiredArgsConstructor
 public class LoginSuccessHandler extends SimpleUrlAuthenticationSuccessHandler {
 
     private final JwtService jwtService;
-    private final UserRepository userRepository;
+    private final LoginRateLimiter loginRateLimiter;
+    private final LogSampler logSampler;
 
     @Override
-    @Transactional
     public void onAuthenticationSuccess(HttpServletRequest request, HttpServletResponse response,
                                         Authentication authentication) {
-        String username = extractUsername(authentication); // 인증 정보에서 Username(email) 추출
-        String accessToken = jwtService.createAccessToken(username); // JwtService의 createAccessToken을 사용하여 AccessToken 발급
-        String refreshToken = jwtService.createRefreshToken(); // JwtService의 createRefreshToken을 사용하여 RefreshToken 발급
-
-        jwtService.sendAccessAndRefreshToken(response, accessToken, refreshToken); // 응답 헤더에 AccessToken, RefreshToken 실어서 응답
-
-        userRepository.findByUsername(username)
-                .ifPresent(user -> {
-                    user.updateRefreshToken(refreshToken);
-                    userRepository.saveAndFlush(user);
-                });
-        log.info("로그인에 성공하였습니다. Username : {}", username);
-        log.info("로그인에 성공하였습니다. AccessToken : {}", accessToken);
-        log.info("로그인에 성공하였습니다. RefreshToken : {}", refreshToken);
-
-    }
-
-    private String extractUsername(Authentication authentication) {
-        UserDetails userDetails = (UserDetails) authentication.getPrincipal();
-        return userDetails.getUsername();
+        UserPrincipal user = (UserPrincipal) authentication.getPrincipal(); // 인증 정보에서 회원 정보 추출 (DB 조회 없음)
+        String username = user.getUsername();
+        String accessToken = jwtService.createAccessToken(user); // JwtService의 createAccessToken을 사용하여 AccessToken 발급
+        IssuedRefreshToken refreshToken = jwtService.createRefreshToken(); // JwtService의 createRefreshToken을 사용하여 RefreshToken 발급
+
+        jwtService.sendAccessAndRefreshToken(response, accessToken, refreshToken.getToken()); // 응답 헤더에 AccessToken, RefreshToken 실어서 응답
+
+        jwtService.updateRefreshToken(user.id(), refreshToken); // 기기별 RefreshToken 저장
+        loginRateLimiter.recordSuccess(username); // 로그인 실패 기록 초기화
+        // 토큰 원문은 로그에 남기지 않고, 성공 로그는 일부만 남깁니다. (log.sampling.success-rate)
+        if (log.isInfoEnabled() && logSampler.sampleSuccess()) {
+            log.info("로그인에 성공하였습니다. Username : {}", username);
+        }
     }
 }
@@ -0,0 +1,134 @@
+package spring.study.security.global.login.parser;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.authentication.AuthenticationServiceException;
+import org.springframework.stereotype.Component;
+import spring.study.security.domain.dto.LoginDto;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * 로그인 요청 Body({"username": "...", "password": "..."})를 스트리밍으로 읽어 LoginDto로 변환한다.
+ * Body 전체를 String이나 Map으로 만들지 않고 토큰 단위로 읽으며, 다음 경우에는 끝까지 읽지 않고 바로 거절한다.
+ * - Body가 login.request.max-body-bytes를 넘는 경우 (Content-Length가 없는 chunked 요청 포함)
+ * - username, password 외의 필드, 중복 필드, 문자열이 아닌 값, 중첩 객체/배열이 있는 경우
+ * - 값의 길이가 login.request.max-field-length를 넘는 경우
+ * 거절 시 AuthenticationServiceException을 던지므로, 로그인 실패 핸들러가 응답한다.
+ */
+@Component
+public class LoginRequestParser {
+
+    private static final String USERNAME_KEY = "username"; // 회원 로그인 시 아이디 요청 JSON Key : "username"
+    private static final String PASSWORD_KEY = "password"; // 회원 로그인 시 비밀번호 요청 JSON Key : "password"
+
+    // ObjectMapper와 같은 JsonFactory를 사용해서 파서 버퍼와 필드명 심볼 테이블을 재사용한다.
+    private final JsonFactory jsonFactory;
+    private final int maxBodyBytes;
+    private final int maxFieldLength;
+
+    public LoginRequestParser(
+            ObjectMapper objectMapper,
+            @Value("${login.request.max-body-bytes}") int maxBodyBytes,
+            @Value("${login.request.max-field-length}") int maxFieldLength
+    ) {
+        this.jsonFactory = objectMapper.getFactory();
+        this.maxBodyBytes = maxBodyBytes;
+        this.maxFieldLength = maxFieldLength;
+    }
+
+    public LoginDto parse(InputStream body, long contentLength) throws IOException {
+        if (contentLength > maxBodyBytes) {
+            throw new AuthenticationServiceException("로그인 요청 Body가 너무 큽니다. : " + contentLength + " bytes");
+        }
+
+        String username = null;
+        String password = null;
+        try (JsonParser parser = jsonFactory.createParser(new LimitedInputStream(body, maxBodyBytes))) {
+            // 요청의 InputStream은 컨테이너가 관리하므로 파서가 닫지 않도록 한다.
+            parser.disable(JsonParser.Feature.AUTO_CLOSE_SOURCE);
+            expect(parser.nextToken() == JsonToken.START_OBJECT, "로그인 요청 Body는 JSON 객체여야 합니다.");
+            String fieldName;
+            while ((fieldName = parser.nextFieldName()) != null) {
+                expect(parser.nextToken() == JsonToken.VALUE_STRING, "문자열이 아닌 값입니다. : " + fieldName);
+                expect(parser.getTextLength() <= maxFieldLength, "값이 너무 깁니다. : " + fieldName);
+                switch (fieldName) {
+                    case USERNAME_KEY -> {
+                        expect(username == null, "중복된 필드입니다. : " + fieldName);
+                        username = parser.getText();
+                    }
+                    case PASSWORD_KEY -> {
+                        expect(password == null, "중복된 필드입니다. : " + fieldName);
+                        password = parser.getText();
+                    }
+                    default -> throw new AuthenticationServiceException("알 수 없는 필드입니다. : " + fieldName);
+                }
+            }
+            expect(parser.currentToken() == JsonToken.END_OBJECT, "잘못된 로그인 요청 형식입니다.");
+            expect(parser.nextToken() == null, "JSON 객체 뒤에 다른 값이 있습니다.");
+        } catch (BodyTooLargeException e) {
+            throw new AuthenticationServiceException("로그인 요청 Body가 너무 큽니다.", e);
+        } catch (JsonProcessingException e) {
+            // JSON 문법 오류도 로그인 실패로 처리한다. (클라이언트 연결 오류 같은 그 외 IOException은 그대로 전달)
+            throw new AuthenticationServiceException("잘못된 JSON 형식입니다.", e);
+        }
+
+        return LoginDto.builder()
+                .username(username)
+                .password(password)
+                .build();
+    }
+
+    private static void expect(boolean condition, String message) {
+        if (!condition) {
+            throw new AuthenticationServiceException(message);
+        }
+    }
+
+    private static class BodyTooLargeException extends IOException {
+    }
+
+    /**
+     * 읽은 바이트 수가 limit을 넘으면 BodyTooLargeException을 던지는 InputStream
+     */
+    private static class LimitedInputStream extends FilterInputStream {
+
+        private long remaining;
+
+        LimitedInputStream(InputStream in, long limit) {
+            super(in);
+            this.remaining = limit;
+        }
+
+        @Override
+        public int read() throws IOException {
+            int b = super.read();
+            if (b != -1) {
+                consume(1);
+            }
+            return b;
+        }
+
+        @Override
+        public int read(byte[] buffer, int offset, int length) throws IOException {
+            int read = super.read(buffer, offset, length);
+            if (read > 0) {
+                consume(read);
+            }
+            return read;
+        }
+
+        private void consume(int bytes) throws BodyTooLargeException {
+            remaining -= bytes;
+            if (remaining < 0) {
+                throw new BodyTooLargeException();
+            }
+        }
+    }
+}
@@ -0,0 +1,186 @@
+package spring.study.security.global.login.password;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.security.crypto.argon2.Argon2PasswordEncoder;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.DelegatingPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.security.crypto.password.Pbkdf2PasswordEncoder;
+
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.IntSupplier;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * 서버 성능에 맞춰 해시 cost를 정하는 PasswordEncoder
+ * 서버 시작 시 비밀번호 검증 1회가 목표 시간(login.password.target-millis)에 가장 가깝도록
+ * bcrypt strength / argon2 iterations를 측정해서 정하고, DelegatingPasswordEncoder({id}hash 형식)로 감싼다.
+ * - 새 비밀번호는 login.password.algorithm으로 해싱한다.
+ * - 저장된 해시의 알고리즘이 다르거나 cost가 현재 설정보다 낮으면 upgradeEncoding()이 true를 반환하므로,
+ *   로그인 성공 시 DaoAuthenticationProvider가 UserDetailsPasswordService를 통해 다시 해싱해서 저장한다.
+ *   (cost가 더 높은 해시는 그대로 둔다. 서버마다 측정값이 달라도 해시를 낮추거나 서로 번갈아 다시 해싱하지 않음)
+ * - 서버마다 같은 cost를 쓰려면 login.password.cost로 고정하고, 측정할 때는 login.password.min-cost로 하한을 둔다.
+ * - {id} 접두사가 없는 기존 해시($2a$...)는 bcrypt로 검증하고, 로그인 시 접두사가 붙은 형식으로 바뀐다.
+ */
+@Slf4j
+public class AdaptivePasswordEncoder implements PasswordEncoder {
+
+    public enum Algorithm {
+        BCRYPT,
+        ARGON2,
+        PBKDF2,
+    }
+
+    // bcrypt는 strength가 1 오를 때마다 시간이 2배, argon2는 iterations에 비례해서 늘어난다.
+    private static final int MIN_BCRYPT_STRENGTH = 10;
+    private static final int MAX_BCRYPT_STRENGTH = 16;
+    private static final int MIN_ARGON2_ITERATIONS = 2;
+    private static final int MAX_ARGON2_ITERATIONS = 16;
+    // OWASP 권장값 (19 MiB, 병렬도 1)
+    private static final int ARGON2_MEMORY_KIB = 19 * 1024;
+    private static final int ARGON2_PARALLELISM = 1;
+    private static final int ARGON2_SALT_LENGTH = 16;
+    private static final int ARGON2_HASH_LENGTH = 32;
+    private static final int PBKDF2_SALT_LENGTH = 16;
+    private static final int CALIBRATION_SAMPLES = 3;
+
+    private static final Pattern BCRYPT_COST = Pattern.compile("^\\$2[abxy]?\\$(\\d\\d)\\$");
+    private static final Pattern ARGON2_PARAMETERS = Pattern.compile("^\\$argon2(?:id|i|d)\\$v=\\d+\\$m=(\\d+),t=(\\d+),p=\\d+\\$");
+
+    private final DelegatingPasswordEncoder delegate;
+    private final Algorithm algorithm;
+    private final String idForEncode;
+    // 현재 설정의 cost (bcrypt : strength, argon2 : iterations, pbkdf2 : 사용 안 함)
+    private final int currentCost;
+
+    private AdaptivePasswordEncoder(Algorithm algorithm, Map<String, PasswordEncoder> encoders, int currentCost) {
+        this.algorithm = algorithm;
+        this.idForEncode = algorithm.name().toLowerCase(Locale.ROOT);
+        this.delegate = new DelegatingPasswordEncoder(idForEncode, encoders);
+        // {id} 접두사가 없는 기존 bcrypt 해시도 검증할 수 있도록 한다.
+        this.delegate.setDefaultPasswordEncoderForMatches(encoders.get("bcrypt"));
+        this.currentCost = currentCost;
+    }
+
+    /**
+     * 목표 시간에 맞춰 cost를 측정해서 PasswordEncoder를 만든다.
+     * fixedCost가 0보다 크면 측정하지 않고 그 값을 사용하고, 측정한 값은 minCost보다 낮아지지 않는다.
+     * PBKDF2는 해시에 반복 횟수가 저장되지 않으므로(바뀌면 기존 해시를 검증할 수 없음) 측정하지 않고 pbkdf2Iterations를 그대로 사용한다.
+     */
+    public static AdaptivePasswordEncoder calibrate(Algorithm algorithm, Duration target, int minCost, int fixedCost, int pbkdf2Iterations) {
+        long targetNanos = target.toNanos();
+        Map<String, PasswordEncoder> encoders = new HashMap<>();
+        encoders.put("pbkdf2", new Pbkdf2PasswordEncoder("", PBKDF2_SALT_LENGTH, pbkdf2Iterations,
+                Pbkdf2PasswordEncoder.SecretKeyFactoryAlgorithm.PBKDF2WithHmacSHA256));
+
+        // 현재 알고리즘만 측정하고, 나머지는 검증용이므로 최소 cost로 등록한다. (bcrypt, argon2는 cost가 해시에 저장되어 있어 검증에 영향 없음)
+        int bcryptStrength = algorithm == Algorithm.BCRYPT
+                ? cost(fixedCost, minCost, MIN_BCRYPT_STRENGTH, MAX_BCRYPT_STRENGTH, () -> calibrateBCryptStrength(targetNanos))
+                : MIN_BCRYPT_STRENGTH;
+        int argon2Iterations = algorithm == Algorithm.ARGON2
+                ? cost(fixedCost, minCost, MIN_ARGON2_ITERATIONS, MAX_ARGON2_ITERATIONS, () -> calibrateArgon2Iterations(targetNanos))
+                : MIN_ARGON2_ITERATIONS;
+        encoders.put("bcrypt", new BCryptPasswordEncoder(bcryptStrength));
+        encoders.put("argon2", argon2(argon2Iterations));
+
+        int currentCost = switch (algorithm) {
+            case BCRYPT -> bcryptStrength;
+            case ARGON2 -> argon2Iterations;
+            case PBKDF2 -> pbkdf2Iterations;
+        };
+        log.info("비밀번호 해시 설정 : algorithm={}, cost={}, fixed={}, target={}ms",
+                algorithm, currentCost, fixedCost > 0, target.toMillis());
+        return new AdaptivePasswordEncoder(algorithm, encoders, currentCost);
+    }
+
+    private static int cost(int fixedCost, int minCost, int min, int max, IntSupplier calibration) {
+        if (fixedCost > 0) {
+            if (fixedCost < min || fixedCost > max) {
+                throw new IllegalArgumentException("login.password.cost는 " + min + " ~ " + max + " 사이여야 합니다. : " + fixedCost);
+            }
+            return fixedCost;
+        }
+        return Math.min(Math.max(calibration.getAsInt(), minCost), max);
+    }
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        return delegate.encode(rawPassword);
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String prefixEncodedPassword) {
+        return delegate.matches(rawPassword, prefixEncodedPassword);
+    }
+
+    /**
+     * 저장된 해시가 현재 알고리즘이 아니거나, cost가 현재 설정보다 낮으면 true를 반환한다.
+     */
+    @Override
+    public boolean upgradeEncoding(String prefixEncodedPassword) {
+        if (prefixEncodedPassword == null || !prefixEncodedPassword.startsWith("{" + idForEncode + "}")) {
+            return true;
+        }
+        String encodedPassword = prefixEncodedPassword.substring(idForEncode.length() + 2);
+        switch (algorithm) {
+            case BCRYPT: {
+                Matcher matcher = BCRYPT_COST.matcher(encodedPassword);
+                return !matcher.find() || Integer.parseInt(matcher.group(1)) < currentCost;
+            }
+            case ARGON2: {
+                Matcher matcher = ARGON2_PARAMETERS.matcher(encodedPassword);
+                return !matcher.find()
+                        || Integer.parseInt(matcher.group(1)) < ARGON2_MEMORY_KIB
+                        || Integer.parseInt(matcher.group(2)) < currentCost;
+            }
+            default:
+                return false;
+        }
+    }
+
+    private static int calibrateBCryptStrength(long targetNanos) {
+        long nanos = measure(new BCryptPasswordEncoder(MIN_BCRYPT_STRENGTH));
+        int strength = MIN_BCRYPT_STRENGTH;
+        // 한 단계 올렸을 때가 목표에 더 가까우면 올린다.
+        while (strength < MAX_BCRYPT_STRENGTH && Math.abs(nanos * 2 - targetNanos) < Math.abs(nanos - targetNanos)) {
+            nanos *= 2;
+            strength++;
+        }
+        return strength;
+    }
+
+    private static int calibrateArgon2Iterations(long targetNanos) {
+        long nanosPerIteration = measure(argon2(MIN_ARGON2_ITERATIONS)) / MIN_ARGON2_ITERATIONS;
+        long iterations = Math.round((double) targetNanos / Math.max(nanosPerIteration, 1));
+        return (int) Math.min(Math.max(iterations, MIN_ARGON2_ITERATIONS), MAX_ARGON2_ITERATIONS);
+    }
+
+    private static Argon2PasswordEncoder argon2(int iterations) {
+        return new Argon2PasswordEncoder(ARGON2_SALT_LENGTH, ARGON2_HASH_LENGTH, ARGON2_PARALLELISM, ARGON2_MEMORY_KIB, iterations);
+    }
+
+    /**
+     * matches() 1회에 걸리는 시간(ns)의 중앙값 (첫 호출은 JIT/클래스 로딩 때문에 제외)
+     */
+    private static long measure(PasswordEncoder encoder) {
+        byte[] random = new byte[16];
+        new SecureRandom().nextBytes(random);
+        String rawPassword = Arrays.toString(random);
+        String encodedPassword = encoder.encode(rawPassword);
+
+        long[] samples = new long[CALIBRATION_SAMPLES];
+        for (int i = 0; i < CALIBRATION_SAMPLES; i++) {
+            long start = System.nanoTime();
+            encoder.matches(rawPassword, encodedPassword);
+            samples[i] = System.nanoTime() - start;
+        }
+        Arrays.sort(samples);
+        return samples[CALIBRATION_SAMPLES / 2];
+    }
+}
@@ -0,0 +1,22 @@
+package spring.study.security.global.login.provider;
+
+import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.userdetails.UserDetails;
+import spring.study.security.global.login.dto.UserPrincipal;
+
+/**
+ * 아이디/비밀번호 로그인용 AuthenticationProvider
+ * 비밀번호 비교와 해시 갱신(UserDetailsPasswordService)은 DaoAuthenticationProvider가 그대로 처리하고,
+ * 인증 객체에는 password를 뺀 UserPrincipal을 넣는다. (UserPrincipal은 불변이라 eraseCredentials로 지울 수 없음)
+ */
+public class UserPrincipalAuthenticationProvider extends DaoAuthenticationProvider {
+
+    @Override
+    protected Authentication createSuccessAuthentication(Object principal, Authentication authentication, UserDetails user) {
+        Object authenticatedPrincipal = principal instanceof UserPrincipal userPrincipal
+                ? userPrincipal.withoutPassword()
+                : principal;
+        return super.createSuccessAuthentication(authenticatedPrincipal, authentication, user);
+    }
+}
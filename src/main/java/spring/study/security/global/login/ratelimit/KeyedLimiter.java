@@ -0,0 +1,120 @@
+package spring.study.security.global.login.ratelimit;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * 키(IP, username)별 Token Bucket + 최근 실패 Sliding Window
+ * - Token Bucket : capacity만큼 연속 요청을 허용하고, refillPerMinute 속도로 다시 채워진다.
+ *   GCRA(Generic Cell Rate Algorithm) 방식으로 "다음 토큰이 생기는 시각" 하나만 AtomicLong에 두고 CAS로 갱신하므로 lock이 없다.
+ * - Sliding Window : 최근 maxFailures번의 실패 시각을 고정 크기 배열(ring)에 기록하고,
+ *   모두 failureWindow 안에 있으면 가장 오래된 실패가 window를 벗어날 때까지 차단한다.
+ * 키는 maximumKeys 크기의 Caffeine 캐시에 보관하므로, 공격자가 키를 아무리 많이 만들어도 메모리가 일정하게 유지된다.
+ */
+class KeyedLimiter {
+
+    private static final long EMPTY = Long.MIN_VALUE;
+
+    private final long emissionIntervalNanos; // 토큰 1개가 채워지는 시간
+    private final long burstNanos; // capacity개의 토큰이 모두 채워지는 시간
+    private final int maxFailures;
+    private final long failureWindowNanos;
+    private final Cache<String, State> states;
+
+    KeyedLimiter(int capacity, int refillPerMinute, int maxFailures, Duration failureWindow, long maximumKeys) {
+        this.emissionIntervalNanos = TimeUnit.MINUTES.toNanos(1) / refillPerMinute;
+        this.burstNanos = emissionIntervalNanos * capacity;
+        this.maxFailures = Math.max(maxFailures, 0);
+        this.failureWindowNanos = failureWindow.toNanos();
+        // 버킷이 가득 차고 실패 기록도 만료될 만큼 접근이 없으면 키를 제거해도 결과가 같다.
+        this.states = Caffeine.newBuilder()
+                .maximumSize(maximumKeys)
+                .expireAfterAccess(Math.max(burstNanos, failureWindowNanos), TimeUnit.NANOSECONDS)
+                .build();
+    }
+
+    /**
+     * 최근 실패가 많아 차단 중이면 남은 차단 시간(ns)을, 아니면 0을 반환한다.
+     */
+    long failureBlockedNanos(String key, long now) {
+        State state = states.getIfPresent(key);
+        if (state == null || maxFailures == 0) {
+            return 0;
+        }
+        long blockedNanos = Long.MAX_VALUE;
+        for (int i = 0; i < maxFailures; i++) {
+            long failedAt = state.failures.get(i);
+            if (failedAt == EMPTY || now - failedAt >= failureWindowNanos) {
+                return 0;
+            }
+            blockedNanos = Math.min(blockedNanos, failedAt + failureWindowNanos - now);
+        }
+        return blockedNanos;
+    }
+
+    /**
+     * 토큰 하나를 사용한다. 사용했으면 0을, 토큰이 없으면 다음 토큰까지 남은 시간(ns)을 반환한다.
+     */
+    long tryConsume(String key, long now) {
+        State state = getOrCreate(key, now);
+        while (true) {
+            long tat = state.theoreticalArrivalTime.get();
+            long newTat = (tat - now > 0 ? tat : now) + emissionIntervalNanos;
+            long waitNanos = newTat - now - burstNanos;
+            if (waitNanos > 0) {
+                return waitNanos;
+            }
+            if (state.theoreticalArrivalTime.compareAndSet(tat, newTat)) {
+                return 0;
+            }
+        }
+    }
+
+    void recordFailure(String key, long now) {
+        if (maxFailures == 0) {
+            return;
+        }
+        State state = getOrCreate(key, now);
+        int index = Math.floorMod(state.cursor.getAndIncrement(), maxFailures);
+        state.failures.set(index, now);
+    }
+
+    void resetFailures(String key) {
+        State state = states.getIfPresent(key);
+        if (state == null) {
+            return;
+        }
+        for (int i = 0; i < maxFailures; i++) {
+            state.failures.set(i, EMPTY);
+        }
+    }
+
+    private State getOrCreate(String key, long now) {
+        State state = states.getIfPresent(key);
+        if (state != null) {
+            return state;
+        }
+        return states.get(key, k -> new State(now, maxFailures));
+    }
+
+    private static class State {
+
+        private final AtomicLong theoreticalArrivalTime;
+        private final AtomicLongArray failures;
+        private final AtomicInteger cursor = new AtomicInteger();
+
+        State(long now, int maxFailures) {
+            this.theoreticalArrivalTime = new AtomicLong(now);
+            this.failures = new AtomicLongArray(maxFailures);
+            for (int i = 0; i < maxFailures; i++) {
+                failures.set(i, EMPTY);
+            }
+        }
+    }
+}
@@ -0,0 +1,110 @@
+package spring.study.security.global.login.ratelimit;
+
+import io.micrometer.core.instrument.Counter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import spring.study.security.global.metrics.AuthMetrics;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 로그인 시도 제한 (Credential Stuffing / Brute Force 방어)
+ * 클라이언트 IP와 username 각각에 대해 Token Bucket과 최근 실패 횟수를 확인하고,
+ * 제한에 걸리면 BCrypt 검증 전에 LoginThrottledException을 던진다.
+ * 제한된 요청 수는 auth.login.throttled 지표(key = ip/username, cause = rate/failures)로 기록한다.
+ */
+@Component
+public class LoginRateLimiter {
+
+    // 실패 핸들러에서 실패를 기록할 수 있도록 로그인 필터가 요청 속성에 username을 담아둔다.
+    public static final String USERNAME_ATTRIBUTE = LoginRateLimiter.class.getName() + ".username";
+
+    private final boolean enabled;
+    private final KeyedLimiter ipLimiter;
+    private final KeyedLimiter usernameLimiter;
+    private final Counter ipRateCounter;
+    private final Counter ipFailuresCounter;
+    private final Counter usernameRateCounter;
+    private final Counter usernameFailuresCounter;
+
+    public LoginRateLimiter(
+            @Value("${login.rate-limit.enabled}") boolean enabled,
+            @Value("${login.rate-limit.maximum-keys}") long maximumKeys,
+            @Value("${login.rate-limit.failure-window}") Duration failureWindow,
+            @Value("${login.rate-limit.ip.capacity}") int ipCapacity,
+            @Value("${login.rate-limit.ip.refill-per-minute}") int ipRefillPerMinute,
+            @Value("${login.rate-limit.ip.max-failures}") int ipMaxFailures,
+            @Value("${login.rate-limit.username.capacity}") int usernameCapacity,
+            @Value("${login.rate-limit.username.refill-per-minute}") int usernameRefillPerMinute,
+            @Value("${login.rate-limit.username.max-failures}") int usernameMaxFailures,
+            AuthMetrics authMetrics
+    ) {
+        this.enabled = enabled;
+        this.ipLimiter = new KeyedLimiter(ipCapacity, ipRefillPerMinute, ipMaxFailures, failureWindow, maximumKeys);
+        this.usernameLimiter = new KeyedLimiter(usernameCapacity, usernameRefillPerMinute, usernameMaxFailures, failureWindow, maximumKeys);
+        this.ipRateCounter = authMetrics.loginThrottledCounter("ip", "rate");
+        this.ipFailuresCounter = authMetrics.loginThrottledCounter("ip", "failures");
+        this.usernameRateCounter = authMetrics.loginThrottledCounter("username", "rate");
+        this.usernameFailuresCounter = authMetrics.loginThrottledCounter("username", "failures");
+    }
+
+    /**
+     * 요청 Body를 읽기 전에 클라이언트 IP의 제한을 확인한다.
+     */
+    public void checkIp(String ip) throws LoginThrottledException {
+        check(ipLimiter, ip, ipFailuresCounter, ipRateCounter);
+    }
+
+    /**
+     * 비밀번호 검증 전에 username의 제한을 확인한다.
+     */
+    public void checkUsername(String username) throws LoginThrottledException {
+        check(usernameLimiter, username, usernameFailuresCounter, usernameRateCounter);
+    }
+
+    public void recordFailure(String ip, String username) {
+        if (!enabled) {
+            return;
+        }
+        long now = System.nanoTime();
+        if (ip != null) {
+            ipLimiter.recordFailure(ip, now);
+        }
+        if (username != null) {
+            usernameLimiter.recordFailure(username, now);
+        }
+    }
+
+    /**
+     * 로그인에 성공하면 해당 username의 실패 기록을 지운다. (IP의 실패 기록은 유지)
+     */
+    public void recordSuccess(String username) {
+        if (!enabled || username == null) {
+            return;
+        }
+        usernameLimiter.resetFailures(username);
+    }
+
+    private void check(KeyedLimiter limiter, String key, Counter failuresCounter, Counter rateCounter) {
+        if (!enabled || key == null) {
+            return;
+        }
+        long now = System.nanoTime();
+        // 실패로 차단된 동안에는 토큰을 사용하지 않는다.
+        long blockedNanos = limiter.failureBlockedNanos(key, now);
+        if (blockedNanos > 0) {
+            failuresCounter.increment();
+            throw new LoginThrottledException("로그인 실패 횟수 초과", toRetryAfterSeconds(blockedNanos));
+        }
+        long waitNanos = limiter.tryConsume(key, now);
+        if (waitNanos > 0) {
+            rateCounter.increment();
+            throw new LoginThrottledException("로그인 요청 횟수 초과", toRetryAfterSeconds(waitNanos));
+        }
+    }
+
+    private static long toRetryAfterSeconds(long nanos) {
+        return Math.max(1, (nanos + TimeUnit.SECONDS.toNanos(1) - 1) / TimeUnit.SECONDS.toNanos(1));
+    }
+}
@@ -0,0 +1,19 @@
+package spring.study.security.global.login.ratelimit;
+
+import lombok.Getter;
+import org.springframework.security.core.AuthenticationException;
+
+/**
+ * 로그인 시도가 제한(Rate Limit)에 걸린 경우 발생하는 예외
+ * 비밀번호 검증 전에 발생하며, LoginFailureHandler가 429 + Retry-After로 응답한다.
+ */
+@Getter
+public class LoginThrottledException extends AuthenticationException {
+
+    private final long retryAfterSeconds;
+
+    public LoginThrottledException(String msg, long retryAfterSeconds) {
+        super(msg);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+}
@@ -3,13 +3,16 @@ package spring.study.security.global.login.service;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
-import spring.study.security.global.login.dto.PrincipalDetails;
+import spring.study.security.global.login.authority.RoleAuthorityRegistry;
+import spring.study.security.global.login.dto.UserPrincipal;
 import spring.study.security.domain.model.User;
 import spring.study.security.domain.repository.UserRepository;
+import spring.study.security.global.metrics.AuthMetrics;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -19,25 +22,44 @@ import java.util.Optional;
 // IoC 되어 있는 loadUserByUsername 함수가 실행됨!
 @Slf4j
 @Service
-public class PrincipalDetailsService implements UserDetailsService {
+public class PrincipalDetailsService implements UserDetailsService, UserDetailsPasswordService {
 
     private final UserRepository userRepository;
+    private final AuthMetrics authMetrics;
+    private final RoleAuthorityRegistry roleAuthorityRegistry;
 
-    public PrincipalDetailsService(UserRepository userRepository) {
+    public PrincipalDetailsService(UserRepository userRepository, AuthMetrics authMetrics, RoleAuthorityRegistry roleAuthorityRegistry) {
         this.userRepository = userRepository;
+        this.authMetrics = authMetrics;
+        this.roleAuthorityRegistry = roleAuthorityRegistry;
     }
 
     @Override
     @Transactional(readOnly = true)
     public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
-        log.info("PrincipalDetailsService의 loadUserByUsername({}) 호출됨", username);
-        Optional<User> userEntity = userRepository.findByUsername(username);
+        log.debug("PrincipalDetailsService의 loadUserByUsername({}) 호출됨", username);
+        // 회원 조회 시간은 auth.user.load 지표에 기록합니다.
+        Optional<User> userEntity = authMetrics.getUserLoadTimer().record(() -> userRepository.findByUsername(username));
         if (userEntity.isPresent()) {
-            return new PrincipalDetails(userEntity.get());
+            // 엔티티 대신 필요한 값만 복사한 UserPrincipal을 반환합니다. (password는 비밀번호 비교에만 사용)
+            User user = userEntity.get();
+            return UserPrincipal.withPassword(user, roleAuthorityRegistry.authoritiesOf(user.getRole()));
         }
         throw new UsernameNotFoundException(username + " -> 없는 계정입니다.");
     }
 
+    // 로그인에 성공했는데 저장된 해시의 알고리즘/cost가 현재 설정과 다르면 DaoAuthenticationProvider가 호출한다.
+    @Override
+    @Transactional
+    public UserDetails updatePassword(UserDetails userDetails, String newPassword) {
+        User user = userRepository.findByUsername(userDetails.getUsername())
+                .orElseThrow(() -> new UsernameNotFoundException(userDetails.getUsername() + " -> 없는 계정입니다."));
+        user.updateEncodedPassword(newPassword);
+        userRepository.save(user);
+        log.info("비밀번호 해시를 현재 설정으로 갱신했습니다. Username : {}", user.getUsername());
+        return UserPrincipal.withPassword(user, roleAuthorityRegistry.authoritiesOf(user.getRole()));
+    }
+
     private org.springframework.security.core.userdetails.User createUser(String username, User user) {
         List<GrantedAuthority> grantedAuthorities = new ArrayList<>();
         grantedAuthorities.add((GrantedAuthority) user::getRole);
@@ -0,0 +1,153 @@
+package spring.study.security.global.metrics;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.Getter;
+import org.springframework.stereotype.Component;
+import spring.study.security.global.jwt.dto.TokenVerification;
+import spring.study.security.global.jwt.dto.TokenVerification.FailureReason;
+
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * 인증 과정의 지표(Timer)를 한 곳에서 정의한다.
+ * 요청마다 Timer.builder()로 Meter를 찾지 않도록 태그 조합별 Timer를 미리 등록해두고 재사용한다.
+ * 모든 지표 이름은 auth. 으로 시작하며, percentile histogram 설정은 application.yml의 management.metrics를 따른다.
+ */
+@Component
+public class AuthMetrics {
+
+    // JwtAuthenticationProcessingFilter의 처리 결과
+    public enum FilterOutcome {
+        NO_TOKEN,
+        VALID,
+        INVALID,
+        EXPIRED,
+        REVOKED,
+        REFRESHED,
+    }
+
+    private static final String VALID_TAG = "valid";
+
+    @Getter
+    private final MeterRegistry registry;
+    private final Map<FilterOutcome, Timer> filterTimers = new EnumMap<>(FilterOutcome.class);
+    private final Map<FailureReason, Timer> verifyFailureTimers = new EnumMap<>(FailureReason.class);
+    private final Timer verifySuccessTimer;
+    @Getter
+    private final Timer accessTokenSignTimer;
+    @Getter
+    private final Timer refreshTokenSignTimer;
+    @Getter
+    private final Timer userLoadTimer;
+    @Getter
+    private final Timer passwordMatchTimer;
+    @Getter
+    private final Timer passwordEncodeTimer;
+
+    public AuthMetrics(MeterRegistry registry) {
+        this.registry = registry;
+        for (FilterOutcome outcome : FilterOutcome.values()) {
+            filterTimers.put(outcome, Timer.builder("auth.jwt.filter")
+                    .description("JwtAuthenticationProcessingFilter 처리 시간 (다음 필터 실행 시간 제외)")
+                    .tag("outcome", tagValue(outcome))
+                    .register(registry));
+        }
+        for (FailureReason reason : FailureReason.values()) {
+            verifyFailureTimers.put(reason, verifyTimer(tagValue(reason)));
+        }
+        this.verifySuccessTimer = verifyTimer(VALID_TAG);
+        this.accessTokenSignTimer = signTimer("access");
+        this.refreshTokenSignTimer = signTimer("refresh");
+        this.userLoadTimer = Timer.builder("auth.user.load")
+                .description("PrincipalDetailsService.loadUserByUsername 처리 시간")
+                .register(registry);
+        this.passwordMatchTimer = Timer.builder("auth.password.match")
+                .description("PasswordEncoder.matches 처리 시간")
+                .register(registry);
+        this.passwordEncodeTimer = Timer.builder("auth.password.encode")
+                .description("PasswordEncoder.encode 처리 시간")
+                .register(registry);
+    }
+
+    public Timer filterTimer(FilterOutcome outcome) {
+        return filterTimers.get(outcome);
+    }
+
+    public Timer verifyTimer(TokenVerification verification) {
+        return verification.isValid() ? verifySuccessTimer : verifyFailureTimers.get(verification.getFailureReason());
+    }
+
+    /**
+     * OAuth2 로그인 전체(userinfo 조회 + 회원 조회/저장) 처리 시간
+     * registrationId의 종류가 적으므로 태그로 구분해도 Meter 수가 늘어나지 않는다.
+     */
+    public Timer oAuth2LoadUserTimer(String registrationId) {
+        return Timer.builder("auth.oauth2.load_user")
+                .description("CustomOAuth2UserService.loadUser 처리 시간")
+                .tag("registration", registrationId)
+                .register(registry);
+    }
+
+    /**
+     * OAuth2 Provider의 userinfo 엔드포인트 호출 시간
+     */
+    public Timer oAuth2UserInfoTimer(String registrationId) {
+        return Timer.builder("auth.oauth2.userinfo")
+                .description("OAuth2 Provider userinfo 응답 시간")
+                .tag("registration", registrationId)
+                .register(registry);
+    }
+
+    /**
+     * 로그인 시도 제한(LoginRateLimiter)에 걸려 거절된 요청 수
+     */
+    public Counter loginThrottledCounter(String key, String cause) {
+        return Counter.builder("auth.login.throttled")
+                .description("로그인 시도 제한으로 거절된 요청 수")
+                .tag("key", key)
+                .tag("cause", cause)
+                .register(registry);
+    }
+
+    /**
+     * 아이디/비밀번호 로그인 실패 수 (실패마다 로그를 남기지 않고 원인별로 집계)
+     */
+    public Counter loginFailureCounter(String cause) {
+        return Counter.builder("auth.login.failure")
+                .description("로그인 실패 수")
+                .tag("cause", cause)
+                .register(registry);
+    }
+
+    /**
+     * 소셜 로그인 실패 수 (cause는 OAuth2Error의 errorCode)
+     */
+    public Counter oAuth2LoginFailureCounter(String cause) {
+        return Counter.builder("auth.oauth2.failure")
+                .description("소셜 로그인 실패 수")
+                .tag("cause", cause)
+                .register(registry);
+    }
+
+    private Timer verifyTimer(String result) {
+        return Timer.builder("auth.jwt.verify")
+                .description("JWT 서명 검증 및 파싱 시간")
+                .tag("result", result)
+                .register(registry);
+    }
+
+    private Timer signTimer(String type) {
+        return Timer.builder("auth.jwt.sign")
+                .description("JWT 생성(서명) 시간")
+                .tag("type", type)
+                .register(registry);
+    }
+
+    private static String tagValue(Enum<?> value) {
+        return value.name().toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,48 @@
+package spring.study.security.global.metrics;
+
+import io.micrometer.core.instrument.Timer;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * PasswordEncoder의 해싱/비교 시간을 측정하기 위한 래퍼
+ * 실제 연산은 감싼 PasswordEncoder에 위임한다.
+ */
+public class TimedPasswordEncoder implements PasswordEncoder {
+
+    private final PasswordEncoder delegate;
+    private final Timer encodeTimer;
+    private final Timer matchTimer;
+
+    public TimedPasswordEncoder(PasswordEncoder delegate, AuthMetrics authMetrics) {
+        this.delegate = delegate;
+        this.encodeTimer = authMetrics.getPasswordEncodeTimer();
+        this.matchTimer = authMetrics.getPasswordMatchTimer();
+    }
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        long start = System.nanoTime();
+        try {
+            return delegate.encode(rawPassword);
+        } finally {
+            encodeTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        long start = System.nanoTime();
+        try {
+            return delegate.matches(rawPassword, encodedPassword);
+        } finally {
+            matchTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        return delegate.upgradeEncoding(encodedPassword);
+    }
+}
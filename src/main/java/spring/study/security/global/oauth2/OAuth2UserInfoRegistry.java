@@ -0,0 +1,92 @@
+package spring.study.security.global.oauth2;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.security.oauth2.client.OAuth2ClientProperties;
+import org.springframework.security.oauth2.client.registration.ClientRegistration;
+import org.springframework.security.oauth2.client.registration.ClientRegistrationRepository;
+import org.springframework.security.oauth2.core.OAuth2AuthenticationException;
+import org.springframework.security.oauth2.core.OAuth2Error;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * registrationId별 유저 정보 추출 방법(SocialType, nameAttributeKey)을 서버 시작 시 한 번만 만들어두고,
+ * 로그인마다 분기 없이 Map 조회 한 번으로 OAuthAttributes를 만든다.
+ * SocialType은 registrationId가 아니라 provider(spring.security.oauth2.client.registration.{registrationId}.provider,
+ * 없으면 registrationId)로 정한다. 그래서 같은 provider를 registrationId를 달리해서 여러 개 등록할 수 있다. (kakao, kakao-biz)
+ * provider가 SocialType에 없거나 등록된 ClientRegistration을 읽을 수 없으면 서버 시작 시 실패한다.
+ */
+@Slf4j
+@Component
+public class OAuth2UserInfoRegistry {
+
+    private final Map<String, Registration> registrations;
+
+    @Autowired
+    public OAuth2UserInfoRegistry(ClientRegistrationRepository clientRegistrationRepository,
+                                  ObjectProvider<OAuth2ClientProperties> clientProperties) {
+        this(clientRegistrationRepository, providers(clientProperties.getIfAvailable()));
+    }
+
+    // providers : registrationId -> provider (없으면 registrationId를 provider로 본다)
+    OAuth2UserInfoRegistry(ClientRegistrationRepository clientRegistrationRepository, Map<String, String> providers) {
+        if (!(clientRegistrationRepository instanceof Iterable<?> clientRegistrations)) {
+            throw new IllegalStateException("등록된 OAuth2 ClientRegistration 목록을 읽을 수 없습니다. (Iterable이 아닌 ClientRegistrationRepository) : "
+                    + clientRegistrationRepository.getClass().getName());
+        }
+        Map<String, Registration> registrations = new HashMap<>();
+        for (Object element : clientRegistrations) {
+            ClientRegistration clientRegistration = (ClientRegistration) element;
+            String registrationId = clientRegistration.getRegistrationId();
+            String provider = providers.getOrDefault(registrationId, registrationId);
+            registrations.put(registrationId, Registration.of(clientRegistration, provider));
+        }
+        this.registrations = Map.copyOf(registrations);
+        log.info("OAuth2 유저 정보 추출기 등록 : {}", this.registrations.keySet());
+    }
+
+    public OAuthAttributes extract(String registrationId, Map<String, Object> attributes) {
+        Registration registration = registrations.get(registrationId);
+        if (registration == null) {
+            throw new OAuth2AuthenticationException(new OAuth2Error("unsupported_provider"),
+                    "지원하지 않는 소셜 로그인입니다. : " + registrationId);
+        }
+        return OAuthAttributes.builder()
+                .nameAttributeKey(registration.nameAttributeKey())
+                .oauth2UserInfo(registration.socialType().createUserInfo(attributes))
+                .build();
+    }
+
+    private static Map<String, String> providers(OAuth2ClientProperties clientProperties) {
+        Map<String, String> providers = new HashMap<>();
+        if (clientProperties != null) {
+            clientProperties.getRegistration().forEach((registrationId, registration) -> {
+                if (registration.getProvider() != null) {
+                    providers.put(registrationId, registration.getProvider());
+                }
+            });
+        }
+        return providers;
+    }
+
+    private record Registration(SocialType socialType, String nameAttributeKey) {
+
+        static Registration of(ClientRegistration clientRegistration, String provider) {
+            SocialType socialType;
+            try {
+                socialType = SocialType.fromProvider(provider);
+            } catch (IllegalArgumentException e) {
+                throw new IllegalStateException("SocialType에 없는 OAuth2 provider입니다. : "
+                        + clientRegistration.getRegistrationId() + " (provider=" + provider + ")", e);
+            }
+            String nameAttributeKey = clientRegistration.getProviderDetails()
+                    .getUserInfoEndpoint()
+                    .getUserNameAttributeName();
+            return new Registration(socialType, nameAttributeKey);
+        }
+    }
+}
@@ -2,7 +2,6 @@ package spring.study.security.global.oauth2;
 
 import lombok.Builder;
 import lombok.Getter;
-import spring.study.security.global.oauth2.userinfo.GoogleOAuth2UserInfo;
 import spring.study.security.global.oauth2.userinfo.OAuth2UserInfo;
 
 import java.util.Map;
@@ -10,6 +9,7 @@ import java.util.Map;
 /**
  * 각 소셜에서 받아오는 데이터가 다르므로
  * 소셜별로 데이터를 받는 데이터를 분기 처리하는 DTO 클래스
+ * 로그인 시에는 OAuth2UserInfoRegistry가 registrationId로 SocialType을 찾아서 생성한다.
  */
 @Getter
 public class OAuthAttributes {
@@ -24,27 +24,15 @@ public class OAuthAttributes {
     }
 
     /**
-     * SocialType에 맞는 메소드 호출하여 OAuthAttributes 객체 반환
+     * SocialType에 맞는 OAuth2UserInfo로 OAuthAttributes 객체 반환
      * 파라미터 : userNameAttributeName -> OAuth2 로그인 시 키(PK)가 되는 값 / attributes : OAuth 서비스의 유저 정보들
-     * 소셜별 of 메소드(ofGoogle, ofKaKao, ofNaver)들은 각각 소셜 로그인 API에서 제공하는
-     * 회원의 식별값(id), attributes, nameAttributeKey를 저장 후 build
+     * 소셜별 유저 정보 클래스(GoogleOAuth2UserInfo, KakaoOAuth2UserInfo...)는 SocialType에 등록되어 있다.
      */
     public static OAuthAttributes of(SocialType socialType,
                                      String userNameAttributeName, Map<String, Object> attributes) {
-
-//        if (socialType == SocialType.NAVER) {
-//            return ofNaver(userNameAttributeName, attributes);
-//        }
-//        if (socialType == SocialType.KAKAO) {
-//            return ofKakao(userNameAttributeName, attributes);
-//        }
-        return ofGoogle(userNameAttributeName, attributes);
-    }
-
-    public static OAuthAttributes ofGoogle(String userNameAttributeName, Map<String, Object> attributes) {
         return OAuthAttributes.builder()
                 .nameAttributeKey(userNameAttributeName)
-                .oauth2UserInfo(new GoogleOAuth2UserInfo(attributes))
+                .oauth2UserInfo(socialType.createUserInfo(attributes))
                 .build();
     }
 }
@@ -1,5 +1,37 @@
 package spring.study.security.global.oauth2;
 
+import spring.study.security.global.oauth2.userinfo.GithubOAuth2UserInfo;
+import spring.study.security.global.oauth2.userinfo.GoogleOAuth2UserInfo;
+import spring.study.security.global.oauth2.userinfo.KakaoOAuth2UserInfo;
+import spring.study.security.global.oauth2.userinfo.NaverOAuth2UserInfo;
+import spring.study.security.global.oauth2.userinfo.OAuth2UserInfo;
+
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * 지원하는 소셜 로그인 종류와 소셜별 유저 정보(OAuth2UserInfo) 생성 방법
+ * provider(spring.security.oauth2.client.registration.{registrationId}.provider, 없으면 registrationId)가 enum 이름과 같으면 해당 소셜로 처리한다.
+ */
 public enum SocialType {
-    GOOGLE,
+    GOOGLE(GoogleOAuth2UserInfo::new),
+    KAKAO(KakaoOAuth2UserInfo::new),
+    NAVER(NaverOAuth2UserInfo::new),
+    GITHUB(GithubOAuth2UserInfo::new),
+    ;
+
+    private final Function<Map<String, Object>, OAuth2UserInfo> userInfoFactory;
+
+    SocialType(Function<Map<String, Object>, OAuth2UserInfo> userInfoFactory) {
+        this.userInfoFactory = userInfoFactory;
+    }
+
+    public OAuth2UserInfo createUserInfo(Map<String, Object> attributes) {
+        return userInfoFactory.apply(attributes);
+    }
+
+    public static SocialType fromProvider(String provider) {
+        return valueOf(provider.toUpperCase(Locale.ROOT));
+    }
 }
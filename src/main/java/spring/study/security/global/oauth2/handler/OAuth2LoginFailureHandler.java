@@ -5,18 +5,32 @@ import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.security.core.AuthenticationException;
+import org.springframework.security.oauth2.core.OAuth2AuthenticationException;
 import org.springframework.security.web.authentication.AuthenticationFailureHandler;
 import org.springframework.stereotype.Component;
+import spring.study.security.global.metrics.AuthMetrics;
 
 import java.io.IOException;
 
 @Slf4j
 @Component
 public class OAuth2LoginFailureHandler implements AuthenticationFailureHandler {
+
+    private final AuthMetrics authMetrics;
+
+    public OAuth2LoginFailureHandler(AuthMetrics authMetrics) {
+        this.authMetrics = authMetrics;
+    }
+
     @Override
     public void onAuthenticationFailure(HttpServletRequest request, HttpServletResponse response, AuthenticationException exception) throws IOException, ServletException {
         response.setStatus(HttpServletResponse.SC_BAD_REQUEST);
         response.getWriter().write("소셜 로그인 실패! 서버 로그를 확인해주세요.");
-        log.info("소셜 로그인에 실패했습니다. 에러 메시지 : {}", exception.getMessage());
+        // 실패 건수는 auth.oauth2.failure{cause} 지표로 집계하고, 원인은 디버그 로그로만 남깁니다.
+        String cause = exception instanceof OAuth2AuthenticationException oAuth2Exception
+                ? oAuth2Exception.getError().getErrorCode()
+                : "other";
+        authMetrics.oAuth2LoginFailureCounter(cause).increment();
+        log.debug("소셜 로그인에 실패했습니다. 에러 메시지 : {}", exception.getMessage());
     }
 }
@@ -1,102 +1,96 @@
 package spring.study.security.global.oauth2.service;
 
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.security.core.GrantedAuthority;
-import org.springframework.security.core.authority.AuthorityUtils;
-import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.oauth2.client.userinfo.DefaultOAuth2UserService;
 import org.springframework.security.oauth2.client.userinfo.OAuth2UserRequest;
 import org.springframework.security.oauth2.client.userinfo.OAuth2UserService;
 import org.springframework.security.oauth2.core.OAuth2AuthenticationException;
+import org.springframework.security.oauth2.core.OAuth2Error;
 import org.springframework.security.oauth2.core.user.OAuth2User;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.client.RestOperations;
 import spring.study.security.domain.model.User;
-import spring.study.security.domain.repository.UserRepository;
-import spring.study.security.global.login.dto.PrincipalDetails;
-import spring.study.security.global.oauth2.CustomOAuth2User;
+import spring.study.security.global.login.authority.RoleAuthorityRegistry;
+import spring.study.security.global.login.dto.UserPrincipal;
+import spring.study.security.global.metrics.AuthMetrics;
+import spring.study.security.global.oauth2.OAuth2UserInfoRegistry;
 import spring.study.security.global.oauth2.OAuthAttributes;
-import spring.study.security.global.oauth2.SocialType;
 import spring.study.security.global.oauth2.userinfo.OAuth2UserInfo;
 
-import java.util.*;
+import java.util.Map;
+import java.util.Objects;
 
 // OAuth2 Client를 통해 로그인을 진행할 경우, 호출되는 서비스
 // 라이브러리를 통해 인증 과정을 끝내고 AccessToken을 받은 시점에서 해당 서비스가 실행된다.
+// Provider의 userinfo 호출 동안 DB 커넥션을 잡고 있지 않도록 트랜잭션 밖에서 호출하고,
+// 회원 가입/조회는 호출이 끝난 뒤 OAuth2UserRegistrationService의 짧은 트랜잭션에서 처리한다.
 @Slf4j
 @Service
 public class CustomOAuth2UserService implements OAuth2UserService<OAuth2UserRequest, OAuth2User> {
 
-    private final UserRepository userRepository;
+    private final OAuth2UserRegistrationService oAuth2UserRegistrationService;
+    private final OAuth2UserInfoRegistry oAuth2UserInfoRegistry;
+    private final AuthMetrics authMetrics;
+    private final RoleAuthorityRegistry roleAuthorityRegistry;
+    // userinfo 조회는 thread-safe 하므로 하나만 만들어서 재사용한다. (커넥션 풀, 타임아웃은 OAuth2ClientConfig 참고)
+    private final DefaultOAuth2UserService delegate;
+    // true면 닉네임, 프로필 사진을 로그인 후 비동기로 갱신한다.
+    private final boolean profileEnrichment;
 
-    public CustomOAuth2UserService(UserRepository userRepository) {
-        this.userRepository = userRepository;
+    public CustomOAuth2UserService(
+            OAuth2UserRegistrationService oAuth2UserRegistrationService,
+            OAuth2UserInfoRegistry oAuth2UserInfoRegistry,
+            AuthMetrics authMetrics,
+            RoleAuthorityRegistry roleAuthorityRegistry,
+            @Qualifier("oAuth2UserInfoRestTemplate") RestOperations oAuth2UserInfoRestTemplate,
+            @Value("${oauth2.profile-enrichment.enabled}") boolean profileEnrichment
+    ) {
+        this.oAuth2UserRegistrationService = oAuth2UserRegistrationService;
+        this.oAuth2UserInfoRegistry = oAuth2UserInfoRegistry;
+        this.authMetrics = authMetrics;
+        this.roleAuthorityRegistry = roleAuthorityRegistry;
+        this.profileEnrichment = profileEnrichment;
+        this.delegate = new DefaultOAuth2UserService();
+        this.delegate.setRestOperations(oAuth2UserInfoRestTemplate);
     }
 
     @Override
-    @Transactional
     public OAuth2User loadUser(OAuth2UserRequest userRequest) throws OAuth2AuthenticationException {
-        log.info("OAuth2User의 loadUser() 호출");
-        OAuth2UserService<OAuth2UserRequest, OAuth2User> delegate = new DefaultOAuth2UserService();
-        OAuth2User oAuth2User = delegate.loadUser(userRequest);
+        log.debug("OAuth2User의 loadUser() 호출");
+        // 전체 처리 시간은 auth.oauth2.load_user, 그 중 Provider의 userinfo 호출 시간은 auth.oauth2.userinfo 지표에 기록합니다.
+        String registrationId = userRequest.getClientRegistration().getRegistrationId();
+        return authMetrics.oAuth2LoadUserTimer(registrationId).record(() -> loadOrRegisterUser(userRequest, registrationId));
+    }
 
-        // nameAttributeKey
-        String userNameAttributeName = userRequest.getClientRegistration()
-                .getProviderDetails()
-                .getUserInfoEndpoint()
-                .getUserNameAttributeName();
+    private OAuth2User loadOrRegisterUser(OAuth2UserRequest userRequest, String registrationId) {
+        OAuth2User oAuth2User = authMetrics.oAuth2UserInfoTimer(registrationId).record(() -> delegate.loadUser(userRequest));
 
         Map<String, Object> userAttributes = oAuth2User.getAttributes();
-        String provider = userRequest.getClientRegistration().getRegistrationId();
-        SocialType socialType = getSocialType(provider);
-        OAuthAttributes extractAttributes = OAuthAttributes.of(socialType, userNameAttributeName, userAttributes);
+        String provider = registrationId;
+        // registrationId로 서버 시작 시 만들어둔 추출기(SocialType, nameAttributeKey)를 찾습니다.
+        OAuthAttributes extractAttributes = oAuth2UserInfoRegistry.extract(registrationId, userAttributes);
         OAuth2UserInfo oauth2UserInfo = extractAttributes.getOauth2UserInfo();
         String providerId = oauth2UserInfo.getId();
-        String username = provider + "_" + providerId;
-        User user = null;
-        Optional<User> userEntity = userRepository.findByUsername(username);
-        if (userEntity.isEmpty()) {
-            user = User.builder()
-                    .username(username)
-                    .email(oauth2UserInfo.getEmail())
-                    .provider(provider)
-                    .providerId(providerId)
-                    .role("ROLE_USER")
-                    .build();
-            userRepository.save(user);
+        // 식별 값이 없는 응답으로 가입시키면 모두 같은 계정({provider}_null)으로 합쳐지므로 로그인을 실패시킵니다.
+        if (providerId == null || providerId.isBlank()) {
+            throw new OAuth2AuthenticationException(new OAuth2Error("invalid_user_info"),
+                    "소셜 로그인 응답에 사용자 식별 값이 없습니다. : " + registrationId);
         }
-        else {
-            user = userEntity.get();
+        User user = oAuth2UserRegistrationService.upsert(provider, providerId, oauth2UserInfo.getEmail());
+        if (profileEnrichment && isProfileChanged(user, oauth2UserInfo)) {
+            oAuth2UserRegistrationService.enrichProfile(user.getId(), oauth2UserInfo.getNickname(), oauth2UserInfo.getImageUrl());
         }
-        log.info("CustomOAuth2UserService Username : {}", user.getUsername());
-//        List<GrantedAuthority> authorities = AuthorityUtils.createAuthorityList(user.getRole());
-
-        log.info("userAttributes : {}", userAttributes);
-        log.info("nameAttributesKey : {}", extractAttributes.getNameAttributeKey());
+        // Provider의 userAttributes에는 이메일 등 개인정보가 있으므로 로그에 남기지 않습니다.
+        log.debug("CustomOAuth2UserService Username : {}, nameAttributeKey : {}", user.getUsername(), extractAttributes.getNameAttributeKey());
 
-        return new PrincipalDetails(
-                user,
-                Collections.singleton(new SimpleGrantedAuthority(user.getRole())),
-                userAttributes,
-                extractAttributes.getNameAttributeKey()
-        );
-//        return new CustomOAuth2User(
-//                Collections.singleton(new SimpleGrantedAuthority(user.getRole())),
-//                userAttributes,
-//                extractAttributes.getNameAttributeKey(),
-//                user.getUsername(),
-//                user.getRole()
-//        );
-//        return new DefaultOAuth2User(authorities, oAuth2User.getAttributes(), userNameAttributeName);
+        // userAttributes와 엔티티는 여기서만 사용하고, SecurityContext에는 id/username/role만 가진 UserPrincipal을 넣습니다.
+        return UserPrincipal.of(user, roleAuthorityRegistry.authoritiesOf(user.getRole()));
     }
 
-    private SocialType getSocialType(String registrationId) {
-//        if(NAVER.equals(registrationId)) {
-//            return SocialType.NAVER;
-//        }
-//        if(KAKAO.equals(registrationId)) {
-//            return SocialType.KAKAO;
-//        }
-        return SocialType.GOOGLE;
+    private boolean isProfileChanged(User user, OAuth2UserInfo oauth2UserInfo) {
+        return !Objects.equals(user.getNickname(), oauth2UserInfo.getNickname())
+                || !Objects.equals(user.getImageUrl(), oauth2UserInfo.getImageUrl());
     }
 }
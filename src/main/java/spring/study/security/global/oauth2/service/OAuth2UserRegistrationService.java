@@ -0,0 +1,47 @@
+package spring.study.security.global.oauth2.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import spring.study.security.domain.model.User;
+import spring.study.security.domain.repository.UserRepository;
+
+/**
+ * 소셜 로그인 회원의 가입/조회와 프로필 갱신
+ * Provider 호출(userinfo)이 끝난 뒤에 짧은 트랜잭션으로만 DB 커넥션을 사용한다.
+ */
+@Slf4j
+@Service
+public class OAuth2UserRegistrationService {
+
+    private static final String DEFAULT_ROLE = "ROLE_USER";
+
+    private final UserRepository userRepository;
+
+    public OAuth2UserRegistrationService(UserRepository userRepository) {
+        this.userRepository = userRepository;
+    }
+
+    /**
+     * (provider, providerId)로 가입되어 있지 않으면 가입시키고, 가입된 회원을 반환한다.
+     * 조회 후 저장하지 않고 INSERT ... ON DUPLICATE KEY UPDATE 한 번으로 처리하므로, 동시에 로그인해도 중복 가입되지 않는다.
+     */
+    @Transactional
+    public User upsert(String provider, String providerId, String email) {
+        String username = provider + "_" + providerId;
+        userRepository.upsertOAuth2User(username, email, DEFAULT_ROLE, provider, providerId);
+        return userRepository.findByProviderAndProviderId(provider, providerId)
+                .orElseThrow(() -> new IllegalStateException("소셜 회원 저장에 실패했습니다. : " + username));
+    }
+
+    /**
+     * 닉네임, 프로필 사진처럼 로그인에 필요하지 않은 정보는 로그인 응답을 기다리게 하지 않도록 비동기로 갱신한다.
+     */
+    @Async
+    @Transactional
+    public void enrichProfile(int userId, String nickname, String imageUrl) {
+        userRepository.updateProfile(userId, nickname, imageUrl);
+        log.debug("소셜 프로필을 갱신했습니다. userId : {}", userId);
+    }
+}
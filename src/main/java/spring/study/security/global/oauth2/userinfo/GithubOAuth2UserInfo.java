@@ -0,0 +1,36 @@
+package spring.study.security.global.oauth2.userinfo;
+
+import java.util.Map;
+
+/**
+ * 깃허브 유저 정보
+ * { "id": 123, "login": "...", "name": "...", "email": "...", "avatar_url": "..." }
+ * 이메일을 비공개로 설정한 사용자는 email이 null이다.
+ */
+public class GithubOAuth2UserInfo extends OAuth2UserInfo {
+
+    public GithubOAuth2UserInfo(Map<String, Object> attributes) {
+        super(attributes);
+    }
+
+    @Override
+    public String getId() {
+        return stringValue(attributes, "id");
+    }
+
+    @Override
+    public String getNickname() {
+        Object name = attributes.get("name");
+        return name != null ? (String) name : (String) attributes.get("login");
+    }
+
+    @Override
+    public String getEmail() {
+        return (String) attributes.get("email");
+    }
+
+    @Override
+    public String getImageUrl() {
+        return (String) attributes.get("avatar_url");
+    }
+}
@@ -0,0 +1,40 @@
+package spring.study.security.global.oauth2.userinfo;
+
+import java.util.Map;
+
+/**
+ * 카카오 유저 정보
+ * { "id": 123, "kakao_account": { "email": "...", "profile": { "nickname": "...", "profile_image_url": "..." } } }
+ * 중첩된 Map은 복사하지 않고 참조만 보관한다.
+ */
+public class KakaoOAuth2UserInfo extends OAuth2UserInfo {
+
+    private final Map<String, Object> account;
+    private final Map<String, Object> profile;
+
+    public KakaoOAuth2UserInfo(Map<String, Object> attributes) {
+        super(attributes);
+        this.account = nested(attributes, "kakao_account");
+        this.profile = nested(account, "profile");
+    }
+
+    @Override
+    public String getId() {
+        return stringValue(attributes, "id");
+    }
+
+    @Override
+    public String getNickname() {
+        return (String) profile.get("nickname");
+    }
+
+    @Override
+    public String getEmail() {
+        return (String) account.get("email");
+    }
+
+    @Override
+    public String getImageUrl() {
+        return (String) profile.get("profile_image_url");
+    }
+}
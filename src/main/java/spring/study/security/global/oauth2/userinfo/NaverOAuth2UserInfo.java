@@ -0,0 +1,38 @@
+package spring.study.security.global.oauth2.userinfo;
+
+import java.util.Map;
+
+/**
+ * 네이버 유저 정보
+ * { "resultcode": "00", "response": { "id": "...", "nickname": "...", "email": "...", "profile_image": "..." } }
+ * 중첩된 Map은 복사하지 않고 참조만 보관한다.
+ */
+public class NaverOAuth2UserInfo extends OAuth2UserInfo {
+
+    private final Map<String, Object> response;
+
+    public NaverOAuth2UserInfo(Map<String, Object> attributes) {
+        super(attributes);
+        this.response = nested(attributes, "response");
+    }
+
+    @Override
+    public String getId() {
+        return stringValue(response, "id");
+    }
+
+    @Override
+    public String getNickname() {
+        return (String) response.get("nickname");
+    }
+
+    @Override
+    public String getEmail() {
+        return (String) response.get("email");
+    }
+
+    @Override
+    public String getImageUrl() {
+        return (String) response.get("profile_image");
+    }
+}
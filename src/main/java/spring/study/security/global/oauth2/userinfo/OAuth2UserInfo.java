@@ -1,5 +1,6 @@
 package spring.study.security.global.oauth2.userinfo;
 
+import java.util.Collections;
 import java.util.Map;
 
 public abstract class OAuth2UserInfo {
@@ -10,11 +11,28 @@ public abstract class OAuth2UserInfo {
         this.attributes = attributes;
     }
 
-    public abstract String getId(); //소셜 식별 값 : 구글 - "sub", 카카오 - "id", 네이버 - "id"
+    public abstract String getId(); //소셜 식별 값 : 구글 - "sub", 카카오 - "id", 네이버 - "response.id", 깃허브 - "id" (없으면 null)
 
     public abstract String getNickname();
 
     public abstract String getEmail();
 
     public abstract String getImageUrl();
+
+    /**
+     * 숫자 id(카카오, 깃허브)도 문자열로 반환한다. 없으면 "null" 문자열이 아니라 null을 반환한다.
+     */
+    protected static String stringValue(Map<String, Object> attributes, String key) {
+        Object value = attributes.get(key);
+        return value != null ? String.valueOf(value) : null;
+    }
+
+    /**
+     * 중첩된 속성(카카오 kakao_account, 네이버 response 등)을 복사하지 않고 그대로 반환한다. 없으면 빈 Map을 반환한다.
+     */
+    @SuppressWarnings("unchecked")
+    protected static Map<String, Object> nested(Map<String, Object> attributes, String key) {
+        Object value = attributes.get(key);
+        return value instanceof Map ? (Map<String, Object>) value : Collections.emptyMap();
+    }
 }
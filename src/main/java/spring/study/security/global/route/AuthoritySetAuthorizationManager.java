@@ -0,0 +1,56 @@
+package spring.study.security.global.route;
+
+import org.springframework.security.authorization.AuthorizationDecision;
+import org.springframework.security.authorization.AuthorizationManager;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.web.access.intercept.RequestAuthorizationContext;
+import spring.study.security.global.login.dto.UserPrincipal;
+
+import java.util.function.Supplier;
+
+/**
+ * 권한 하나를 가지고 있는지 확인하는 AuthorizationManager
+ * principal이 UserPrincipal이면 RoleAuthorityRegistry가 미리 계산한 권한 Set에서 contains()로 확인하고,
+ * 그 외의 인증 객체는 getAuthorities()를 순서대로 비교한다.
+ * 요청마다 AuthorizationDecision을 만들지 않도록 결과 객체를 재사용한다.
+ */
+public final class AuthoritySetAuthorizationManager implements AuthorizationManager<RequestAuthorizationContext> {
+
+    private static final AuthorizationDecision GRANTED = new AuthorizationDecision(true);
+    private static final AuthorizationDecision DENIED = new AuthorizationDecision(false);
+
+    private final GrantedAuthority authority;
+
+    private AuthoritySetAuthorizationManager(String authority) {
+        this.authority = new SimpleGrantedAuthority(authority);
+    }
+
+    public static AuthoritySetAuthorizationManager hasAuthority(String authority) {
+        return new AuthoritySetAuthorizationManager(authority);
+    }
+
+    @Override
+    public AuthorizationDecision check(Supplier<Authentication> authentication, RequestAuthorizationContext context) {
+        Authentication current = authentication.get();
+        return current != null && current.isAuthenticated() && hasAuthority(current) ? GRANTED : DENIED;
+    }
+
+    private boolean hasAuthority(Authentication authentication) {
+        if (authentication.getPrincipal() instanceof UserPrincipal principal) {
+            return principal.authorities().contains(authority);
+        }
+        for (GrantedAuthority granted : authentication.getAuthorities()) {
+            if (authority.getAuthority().equals(granted.getAuthority())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public String toString() {
+        return "hasAuthority(" + authority.getAuthority() + ")";
+    }
+}
@@ -0,0 +1,42 @@
+package spring.study.security.global.route;
+
+import org.springframework.security.config.annotation.web.configurers.AuthorizeHttpRequestsConfigurer;
+
+/**
+ * authorizeHttpRequests에 등록하는 URL 규칙 하나
+ * pattern은 고정 경로(/login)나 끝이 /**인 경로(/user/**)만 허용한다. (SecurityRouteTable이 Trie로 매칭할 수 있는 형태)
+ * HAS_AUTHORITY는 역할 이름 대신 권한(Permissions)으로 확인한다. (AuthoritySetAuthorizationManager)
+ */
+public record SecurityRoute(String pattern, Access access, String authority) {
+
+    public enum Access {
+        PERMIT_ALL,
+        AUTHENTICATED,
+        HAS_AUTHORITY,
+    }
+
+    public static SecurityRoute permitAll(String pattern) {
+        return new SecurityRoute(pattern, Access.PERMIT_ALL, null);
+    }
+
+    public static SecurityRoute authenticated(String pattern) {
+        return new SecurityRoute(pattern, Access.AUTHENTICATED, null);
+    }
+
+    public static SecurityRoute hasAuthority(String pattern, String authority) {
+        return new SecurityRoute(pattern, Access.HAS_AUTHORITY, authority);
+    }
+
+    public boolean isPublic() {
+        return access == Access.PERMIT_ALL;
+    }
+
+    void applyTo(AuthorizeHttpRequestsConfigurer<?>.AuthorizationManagerRequestMatcherRegistry authorize) {
+        AuthorizeHttpRequestsConfigurer<?>.AuthorizedUrl url = authorize.requestMatchers(pattern);
+        switch (access) {
+            case PERMIT_ALL -> url.permitAll();
+            case AUTHENTICATED -> url.authenticated();
+            case HAS_AUTHORITY -> url.access(AuthoritySetAuthorizationManager.hasAuthority(authority));
+        }
+    }
+}
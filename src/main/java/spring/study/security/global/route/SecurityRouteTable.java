@@ -0,0 +1,135 @@
+package spring.study.security.global.route;
+
+import jakarta.servlet.http.HttpServletRequest;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * SecurityRoutes를 경로 세그먼트 단위 Trie로 미리 컴파일한 표
+ * 요청마다 RequestMatcher를 순서대로 시도하지 않고, Request URI를 '/' 기준으로 한 번 훑으면서 규칙을 찾는다.
+ * URI를 split()하거나 substring()하지 않고 원본 문자열의 구간(regionMatches)으로만 비교하므로 요청마다 객체를 만들지 않는다.
+ *
+ * 이 표는 토큰 처리를 건너뛸지 판단하는 용도일 뿐이고, 실제 인가는 AuthorizationFilter가 한다.
+ * 그래서 판단이 어긋나더라도 (예 : 퍼센트 인코딩된 경로) 인증 정보 없이 보호된 경로로 넘어가 거절될 뿐, 인가를 우회하지는 않는다.
+ */
+public final class SecurityRouteTable {
+
+    private static final int NONE = Integer.MAX_VALUE;
+    private static final String ANY_PATH = "**";
+
+    private final Node root = new Node();
+    private final boolean[] publicRoutes;
+    // 어떤 규칙에도 맞지 않는 경로(anyRequest)의 공개 여부
+    private final boolean defaultPublic;
+
+    private SecurityRouteTable(List<SecurityRoute> routes, boolean defaultPublic) {
+        this.publicRoutes = new boolean[routes.size()];
+        this.defaultPublic = defaultPublic;
+        for (int index = 0; index < routes.size(); index++) {
+            SecurityRoute route = routes.get(index);
+            publicRoutes[index] = route.isPublic();
+            insert(route.pattern(), index);
+        }
+    }
+
+    public static SecurityRouteTable compile(List<SecurityRoute> routes, boolean defaultPublic) {
+        return new SecurityRouteTable(routes, defaultPublic);
+    }
+
+    public boolean isPublic(HttpServletRequest request) {
+        return isPublic(request.getRequestURI(), request.getContextPath().length());
+    }
+
+    /**
+     * path의 from 위치부터를 경로로 보고 공개(permitAll) 경로인지 확인한다.
+     */
+    public boolean isPublic(String path, int from) {
+        int index = match(path, from);
+        return index == NONE ? defaultPublic : publicRoutes[index];
+    }
+
+    // 맞는 규칙 중 가장 먼저 선언된 규칙의 순번을 반환한다. (authorizeHttpRequests는 처음 맞는 규칙을 적용함)
+    private int match(String path, int from) {
+        int best = NONE;
+        Node node = root;
+        int position = from;
+        int length = path.length();
+        while (true) {
+            best = Math.min(best, node.anyPath);
+            if (position < length && path.charAt(position) == '/') {
+                position++;
+            }
+            if (position >= length) {
+                return Math.min(best, node.exact);
+            }
+            int end = path.indexOf('/', position);
+            if (end < 0) {
+                end = length;
+            }
+            node = node.child(path, position, end - position);
+            if (node == null) {
+                return best;
+            }
+            position = end;
+        }
+    }
+
+    private void insert(String pattern, int index) {
+        if (!pattern.startsWith("/")) {
+            throw new IllegalArgumentException("경로는 /로 시작해야 합니다. : " + pattern);
+        }
+        Node node = root;
+        String[] segments = pattern.substring(1).split("/", -1);
+        for (int i = 0; i < segments.length; i++) {
+            String segment = segments[i];
+            if (segment.equals(ANY_PATH) && i == segments.length - 1) {
+                node.anyPath = Math.min(node.anyPath, index);
+                return;
+            }
+            if (segment.contains("*") || segment.contains("{")) {
+                throw new IllegalArgumentException("고정 경로나 /**로 끝나는 경로만 지원합니다. : " + pattern);
+            }
+            // "/" 또는 "/login/"처럼 마지막 세그먼트가 비어 있으면 그 앞 노드에서 끝난다.
+            if (segment.isEmpty() && i == segments.length - 1) {
+                break;
+            }
+            node = node.getOrCreateChild(segment);
+        }
+        node.exact = Math.min(node.exact, index);
+    }
+
+    private static final class Node {
+
+        // 자식 수가 적으므로 Map 대신 배열을 순서대로 비교한다.
+        private String[] segments = new String[0];
+        private Node[] children = new Node[0];
+        // 이 노드에서 끝나는 고정 경로 규칙의 순번
+        private int exact = NONE;
+        // 이 노드 아래 전체(/**)에 적용되는 규칙의 순번
+        private int anyPath = NONE;
+
+        private Node child(String path, int offset, int length) {
+            for (int i = 0; i < segments.length; i++) {
+                String segment = segments[i];
+                if (segment.length() == length && path.regionMatches(offset, segment, 0, length)) {
+                    return children[i];
+                }
+            }
+            return null;
+        }
+
+        private Node getOrCreateChild(String segment) {
+            Node child = child(segment, 0, segment.length());
+            if (child != null) {
+                return child;
+            }
+            segments = Arrays.copyOf(segments, segments.length + 1);
+            children = Arrays.copyOf(children, children.length + 1);
+            child = new Node();
+            segments[segments.length - 1] = segment;
+            children[children.length - 1] = child;
+            return child;
+        }
+    }
+}
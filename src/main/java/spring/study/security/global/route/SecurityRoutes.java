@@ -0,0 +1,38 @@
+package spring.study.security.global.route;
+
+import org.springframework.security.config.annotation.web.configurers.AuthorizeHttpRequestsConfigurer;
+import spring.study.security.global.login.authority.Permissions;
+
+import java.util.List;
+
+/**
+ * URL별 접근 규칙을 한 곳에서 정의한다.
+ * SecurityConfig는 이 목록으로 authorizeHttpRequests를 구성하고,
+ * JwtAuthenticationProcessingFilter는 같은 목록으로 만든 SecurityRouteTable로 공개 경로인지 판단하므로 두 규칙이 어긋나지 않는다.
+ * 목록에 없는 경로는 모두 permitAll이다. (anyRequest)
+ */
+public final class SecurityRoutes {
+
+    // 앞에 있는 규칙이 먼저 적용된다. (authorizeHttpRequests와 동일)
+    // 역할별 권한은 Role/RolePermission 테이블 참고 (ROLE_ADMIN은 ROLE_MANAGER의 권한을 포함)
+    public static final List<SecurityRoute> ROUTES = List.of(
+            // health는 로드밸런서/쿠버네티스 probe용으로 공개하고, 지표(prometheus) 등 나머지 Actuator는 관리자만 볼 수 있다.
+            SecurityRoute.permitAll("/actuator/health/**"),
+            SecurityRoute.hasAuthority("/actuator/**", Permissions.ADMIN_ACCESS),
+            SecurityRoute.authenticated("/user/**"),
+            SecurityRoute.hasAuthority("/manager/**", Permissions.MANAGER_ACCESS),
+            SecurityRoute.hasAuthority("/admin/**", Permissions.ADMIN_ACCESS)
+    );
+
+    private SecurityRoutes() {
+    }
+
+    public static void applyTo(AuthorizeHttpRequestsConfigurer<?>.AuthorizationManagerRequestMatcherRegistry authorize) {
+        ROUTES.forEach(route -> route.applyTo(authorize));
+        authorize.anyRequest().permitAll();
+    }
+
+    public static SecurityRouteTable table() {
+        return SecurityRouteTable.compile(ROUTES, true);
+    }
+}
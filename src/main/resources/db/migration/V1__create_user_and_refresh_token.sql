@@ -0,0 +1,33 @@
+-- 회원
+-- username : 일반 로그인 아이디 / 소셜 회원은 provider_providerId (natural id)
+-- (provider, providerId) : 소셜 회원 가입/갱신(INSERT ... ON DUPLICATE KEY UPDATE)의 기준 키
+CREATE TABLE User (
+    id         INT          NOT NULL AUTO_INCREMENT,
+    username   VARCHAR(255) NOT NULL,
+    password   VARCHAR(255),
+    email      VARCHAR(255),
+    role       VARCHAR(255),
+    provider   VARCHAR(255),
+    providerId VARCHAR(255),
+    nickname   VARCHAR(255),
+    imageUrl   VARCHAR(255),
+    createDate DATETIME(6),
+    PRIMARY KEY (id),
+    CONSTRAINT uk_user_username UNIQUE (username),
+    CONSTRAINT uk_user_provider UNIQUE (provider, providerId)
+) ENGINE = InnoDB DEFAULT CHARSET = utf8mb4;
+
+-- 발급된 RefreshToken (기기/세션마다 한 row, 토큰 원문 대신 SHA-256 해시 저장)
+CREATE TABLE RefreshToken (
+    id         BIGINT      NOT NULL AUTO_INCREMENT,
+    jti        VARCHAR(36) NOT NULL,
+    tokenHash  CHAR(64)    NOT NULL,
+    userId     INT         NOT NULL,
+    expiresAt  DATETIME(6) NOT NULL,
+    createDate DATETIME(6),
+    PRIMARY KEY (id),
+    CONSTRAINT uk_refresh_token_jti UNIQUE (jti),
+    CONSTRAINT uk_refresh_token_hash UNIQUE (tokenHash),
+    INDEX idx_refresh_token_user (userId),
+    CONSTRAINT fk_refresh_token_user FOREIGN KEY (userId) REFERENCES User (id) ON DELETE CASCADE
+) ENGINE = InnoDB DEFAULT CHARSET = utf8mb4;
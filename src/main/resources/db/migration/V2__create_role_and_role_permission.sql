@@ -0,0 +1,31 @@
+-- 역할
+-- inheritsFrom : 이 역할이 포함하는 역할 (ROLE_ADMIN -> ROLE_MANAGER -> ROLE_USER), 포함한 역할의 권한을 모두 가진다.
+CREATE TABLE Role (
+    name         VARCHAR(255) NOT NULL,
+    inheritsFrom VARCHAR(255),
+    PRIMARY KEY (name),
+    CONSTRAINT fk_role_inherits FOREIGN KEY (inheritsFrom) REFERENCES Role (name)
+) ENGINE = InnoDB DEFAULT CHARSET = utf8mb4;
+
+-- 역할별 권한 (URL 인가는 역할 이름 대신 권한으로 확인한다. SecurityRoutes 참고)
+CREATE TABLE RolePermission (
+    roleName   VARCHAR(255) NOT NULL,
+    permission VARCHAR(100) NOT NULL,
+    PRIMARY KEY (roleName, permission),
+    CONSTRAINT fk_role_permission_role FOREIGN KEY (roleName) REFERENCES Role (name) ON DELETE CASCADE
+) ENGINE = InnoDB DEFAULT CHARSET = utf8mb4;
+
+INSERT INTO Role (name, inheritsFrom) VALUES ('ROLE_USER', NULL);
+INSERT INTO Role (name, inheritsFrom) VALUES ('ROLE_MANAGER', 'ROLE_USER');
+INSERT INTO Role (name, inheritsFrom) VALUES ('ROLE_ADMIN', 'ROLE_MANAGER');
+
+INSERT INTO RolePermission (roleName, permission) VALUES ('ROLE_USER', 'user:access');
+INSERT INTO RolePermission (roleName, permission) VALUES ('ROLE_MANAGER', 'manager:access');
+INSERT INTO RolePermission (roleName, permission) VALUES ('ROLE_ADMIN', 'admin:access');
+
+-- 기존 회원의 role 중 위에 없는 값도 (권한 없는) 역할로 등록한 뒤, User.role을 Role에 연결한다.
+INSERT INTO Role (name)
+SELECT DISTINCT role FROM User
+WHERE role IS NOT NULL AND role NOT IN ('ROLE_USER', 'ROLE_MANAGER', 'ROLE_ADMIN');
+
+ALTER TABLE User ADD CONSTRAINT fk_user_role FOREIGN KEY (role) REFERENCES Role (name);
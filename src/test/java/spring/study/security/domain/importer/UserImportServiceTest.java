@@ -0,0 +1,179 @@
+package spring.study.security.domain.importer;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import spring.study.security.domain.model.User;
+import spring.study.security.domain.repository.UserRepository;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Duration;
+import java.time.Instant;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:user-import;MODE=MySQL;NON_KEYWORDS=USER;DATABASE_TO_LOWER=FALSE;CASE_INSENSITIVE_IDENTIFIERS=TRUE",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "user-import.batch-size=2",
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({UserImportService.class, UserImportServiceTest.Config.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class UserImportServiceTest {
+
+    private static final String LEGACY_HASH = new BCryptPasswordEncoder(4).encode("legacy");
+
+    @TestConfiguration
+    static class Config {
+        @Bean
+        PasswordEncoder passwordEncoder() {
+            return new BCryptPasswordEncoder(4);
+        }
+
+        @Bean
+        ObjectMapper objectMapper() {
+            return new ObjectMapper();
+        }
+    }
+
+    @Autowired
+    private UserImportService userImportService;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void importsNdjsonAndSkipsDuplicatesAndInvalidLines() throws Exception {
+        String ndjson = """
+                {"username": "ndjson1", "password": "password1", "email": "ndjson1@test.com"}
+                {"username": "ndjson2", "encodedPassword": "%s"}
+                not json
+                {"username": "ndjson1", "password": "again"}
+                {"password": "no username"}
+                {"username": "ndjson3", "password": "password3"}
+                """.formatted(LEGACY_HASH);
+
+        UserImportJob.Snapshot result = importAndWait(ndjson, UserImportFormat.NDJSON, 0);
+
+        assertThat(result.status()).isEqualTo(UserImportJob.Status.COMPLETED);
+        assertThat(result.read()).isEqualTo(6);
+        assertThat(result.inserted()).isEqualTo(3);
+        assertThat(result.duplicated()).isEqualTo(1);
+        assertThat(result.rejected()).isEqualTo(2);
+        assertThat(result.errors()).extracting(UserImportJob.Error::line).containsExactly(3L, 5L);
+        assertThat(result.committedLine()).isEqualTo(6);
+
+        User user = userRepository.findByUsername("ndjson1").orElseThrow();
+        assertThat(passwordEncoder.matches("password1", user.getPassword())).isTrue();
+        assertThat(user.getRole()).isEqualTo("ROLE_USER");
+        // 기존 해시는 다시 해싱하지 않고 그대로 저장한다.
+        assertThat(userRepository.findByUsername("ndjson2").orElseThrow().getPassword()).isEqualTo(LEGACY_HASH);
+    }
+
+    @Test
+    void importsCsvFromSkippedLine() throws Exception {
+        String csv = """
+                username,password,email
+                csv1,password1,csv1@test.com
+                csv2,"pass,word",csv2@test.com
+                csv3,password3,
+                """;
+
+        UserImportJob.Snapshot result = importAndWait(csv, UserImportFormat.CSV, 2);
+
+        assertThat(result.status()).isEqualTo(UserImportJob.Status.COMPLETED);
+        assertThat(result.inserted()).isEqualTo(2);
+        assertThat(userRepository.findByUsername("csv1")).isEmpty();
+        assertThat(passwordEncoder.matches("pass,word", userRepository.findByUsername("csv2").orElseThrow().getPassword())).isTrue();
+        assertThat(userRepository.findByUsername("csv3").orElseThrow().getEmail()).isNull();
+    }
+
+    @Test
+    void errorsOtherThanDuplicateFailTheJob() throws Exception {
+        // 중복이 아닌 제약조건 위반은 건너뛰지 않고 작업을 실패시킨다.
+        jdbcTemplate.execute("ALTER TABLE User ADD CONSTRAINT ck_test_email CHECK (email IS NULL OR email <> 'invalid@test.com')");
+        try {
+            String ndjson = """
+                    {"username": "fail1", "password": "password1"}
+                    {"username": "fail2", "password": "password2"}
+                    {"username": "fail3", "password": "password3", "email": "invalid@test.com"}
+                    """;
+
+            UserImportJob.Snapshot result = importAndWait(ndjson, UserImportFormat.NDJSON, 0);
+
+            assertThat(result.status()).isEqualTo(UserImportJob.Status.FAILED);
+            assertThat(result.inserted()).isEqualTo(2);
+            assertThat(result.duplicated()).isZero();
+            assertThat(result.committedLine()).isEqualTo(2);
+            assertThat(userRepository.findByUsername("fail3")).isEmpty();
+        } finally {
+            jdbcTemplate.execute("ALTER TABLE User DROP CONSTRAINT ck_test_email");
+        }
+    }
+
+    @Test
+    void failedJobFileAndFinishedJobsAreCleanedUp() throws Exception {
+        jdbcTemplate.execute("ALTER TABLE User ADD CONSTRAINT ck_test_cleanup CHECK (email IS NULL OR email <> 'invalid@test.com')");
+        UserImportJob job;
+        try {
+            job = submit("""
+                    {"username": "cleanup1", "password": "password1", "email": "invalid@test.com"}
+                    """, UserImportFormat.NDJSON, 0);
+            assertThat(waitFor(job).status()).isEqualTo(UserImportJob.Status.FAILED);
+        } finally {
+            jdbcTemplate.execute("ALTER TABLE User DROP CONSTRAINT ck_test_cleanup");
+        }
+        // 작업 없이 남은 파일 (서버 재시작 등)
+        Path orphan = Files.createTempFile(job.getFile().getParent(), "users-", ".import");
+        Files.setLastModifiedTime(orphan, FileTime.from(Instant.now().minus(Duration.ofDays(2))));
+        Instant finishedAt = job.getFinishedAt();
+
+        // failed-file-ttl(PT24H)이 지나면 파일을 지우고, 다시 시작할 수 없다.
+        userImportService.cleanup(finishedAt.plus(Duration.ofHours(25)));
+        assertThat(job.getFile()).doesNotExist();
+        assertThat(orphan).doesNotExist();
+        assertThat(userImportService.find(job.getId())).isPresent();
+        assertThat(userImportService.resume(job)).isFalse();
+
+        // job-retention(PT72H)이 지나면 작업도 제거한다.
+        userImportService.cleanup(finishedAt.plus(Duration.ofHours(73)));
+        assertThat(userImportService.find(job.getId())).isEmpty();
+    }
+
+    private UserImportJob.Snapshot importAndWait(String body, UserImportFormat format, long skip) throws Exception {
+        return waitFor(submit(body, format, skip));
+    }
+
+    private UserImportJob submit(String body, UserImportFormat format, long skip) throws Exception {
+        return userImportService.submit(new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8)), format, skip);
+    }
+
+    private static UserImportJob.Snapshot waitFor(UserImportJob job) throws Exception {
+        Instant deadline = Instant.now().plus(Duration.ofSeconds(30));
+        while (job.getStatus() == UserImportJob.Status.QUEUED || job.getStatus() == UserImportJob.Status.RUNNING) {
+            assertThat(Instant.now()).isBefore(deadline);
+            Thread.sleep(20);
+        }
+        return job.snapshot();
+    }
+}
@@ -0,0 +1,121 @@
+package spring.study.security.domain.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.coyote.BadRequestException;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import spring.study.security.domain.dto.UserDto;
+import spring.study.security.domain.repository.UserRepository;
+import spring.study.security.global.login.executor.PasswordHashingExecutor;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+// Flyway 마이그레이션을 적용한 H2(MySQL 모드)에서 실제 INSERT와 unique index로 검증한다.
+@DataJpaTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:user-service;MODE=MySQL;NON_KEYWORDS=USER;DATABASE_TO_LOWER=FALSE;CASE_INSENSITIVE_IDENTIFIERS=TRUE",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "login.async.timeout-millis=10000",
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({UserService.class, UserServiceTest.Config.class})
+// 각 가입 요청이 각자의 트랜잭션에서 커밋되도록 테스트 트랜잭션을 사용하지 않는다.
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class UserServiceTest {
+
+    private static final int REQUESTS = 16;
+
+    @TestConfiguration
+    static class Config {
+        @Bean
+        PasswordEncoder passwordEncoder() {
+            return new BCryptPasswordEncoder(4);
+        }
+
+        @Bean
+        PasswordHashingExecutor passwordHashingExecutor() {
+            return new PasswordHashingExecutor(4, REQUESTS, new SimpleMeterRegistry());
+        }
+    }
+
+    @Autowired
+    private UserService userService;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    @Test
+    void joinStoresHashedPassword() throws Exception {
+        userService.join(new UserDto("hashed", "password", "hashed@test.com"));
+
+        String stored = userRepository.findByUsername("hashed").orElseThrow().getPassword();
+        assertThat(passwordEncoder.matches("password", stored)).isTrue();
+    }
+
+    @Test
+    void duplicateUsernameIsRejected() throws Exception {
+        userService.join(new UserDto("duplicate", "password", "duplicate@test.com"));
+
+        assertThatThrownBy(() -> userService.join(new UserDto("duplicate", "other", "other@test.com")))
+                .isInstanceOf(BadRequestException.class)
+                .hasMessage("이미 가입된 유저입니다.");
+    }
+
+    @Test
+    void otherConstraintViolationIsNotDuplicate() {
+        // username 길이 초과(VARCHAR(255))는 중복 가입이 아니다.
+        assertThatThrownBy(() -> userService.join(new UserDto("u".repeat(256), "password", "long@test.com")))
+                .isInstanceOf(DataIntegrityViolationException.class);
+    }
+
+    @Test
+    void concurrentJoinCreatesExactlyOneUser() throws Exception {
+        ExecutorService requests = Executors.newFixedThreadPool(REQUESTS);
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicInteger joined = new AtomicInteger();
+        AtomicInteger duplicated = new AtomicInteger();
+        List<Future<?>> results = new ArrayList<>();
+        for (int i = 0; i < REQUESTS; i++) {
+            UserDto userDto = new UserDto("concurrent", "password" + i, "concurrent@test.com");
+            results.add(requests.submit(() -> {
+                start.await();
+                try {
+                    userService.join(userDto);
+                    joined.incrementAndGet();
+                } catch (BadRequestException e) {
+                    duplicated.incrementAndGet();
+                }
+                return null;
+            }));
+        }
+        start.countDown();
+        for (Future<?> result : results) {
+            result.get(30, TimeUnit.SECONDS);
+        }
+        requests.shutdown();
+
+        assertThat(joined).hasValue(1);
+        assertThat(duplicated).hasValue(REQUESTS - 1);
+        assertThat(userRepository.findAll())
+                .filteredOn(user -> user.getUsername().equals("concurrent"))
+                .hasSize(1);
+    }
+}
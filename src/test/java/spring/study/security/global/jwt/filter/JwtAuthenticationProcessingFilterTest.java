@@ -0,0 +1,94 @@
+package spring.study.security.global.jwt.filter;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.context.SecurityContextHolder;
+import spring.study.security.domain.model.User;
+import spring.study.security.domain.repository.UserRepository;
+import spring.study.security.global.jwt.cache.VerifiedTokenCache;
+import spring.study.security.global.jwt.dto.IssuedRefreshToken;
+import spring.study.security.global.jwt.revocation.TokenDenylist;
+import spring.study.security.global.jwt.service.JwtService;
+import spring.study.security.global.jwt.service.JwtServiceFixture;
+import spring.study.security.global.login.authority.RoleAuthorityRegistry;
+import spring.study.security.global.metrics.AuthMetrics;
+import spring.study.security.global.route.SecurityRoutes;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verifyNoInteractions;
+
+class JwtAuthenticationProcessingFilterTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final UserRepository userRepository = mock(UserRepository.class);
+    private final TokenDenylist tokenDenylist = new TokenDenylist(1000, 3600, meterRegistry);
+    private final VerifiedTokenCache verifiedTokenCache = new VerifiedTokenCache(true, 1000, meterRegistry);
+    private final JwtService jwtService = JwtServiceFixture.create(userRepository, tokenDenylist, meterRegistry);
+    private final JwtAuthenticationProcessingFilter filter = new JwtAuthenticationProcessingFilter(
+            jwtService, userRepository, verifiedTokenCache, tokenDenylist, new AuthMetrics(meterRegistry),
+            SecurityRoutes.table(), new RoleAuthorityRegistry(null));
+    private final User user = User.builder().username("user1").role("ROLE_USER").build();
+
+    @BeforeEach
+    void setUp() {
+        user.setId(1);
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void accessTokenAuthenticates() throws Exception {
+        String accessToken = jwtService.createAccessToken(user);
+
+        doFilter("Authorization", accessToken);
+
+        assertThat(SecurityContextHolder.getContext().getAuthentication()).isNotNull();
+        assertThat(filterCount("valid")).isEqualTo(1);
+    }
+
+    @Test
+    void refreshTokenInAccessHeaderIsRejected() throws Exception {
+        IssuedRefreshToken refreshToken = jwtService.createRefreshToken();
+        jwtService.updateRefreshToken(user.getId(), refreshToken);
+
+        doFilter("Authorization", refreshToken.getToken());
+
+        assertThat(SecurityContextHolder.getContext().getAuthentication()).isNull();
+        assertThat(verifiedTokenCache.get(refreshToken.getToken())).isNull();
+        assertThat(filterCount("invalid")).isEqualTo(1);
+        verifyNoInteractions(userRepository);
+    }
+
+    @Test
+    void accessTokenInRefreshHeaderIsNotReissued() throws Exception {
+        String accessToken = jwtService.createAccessToken(user);
+
+        MockHttpServletResponse response = doFilter("Authorization-Refresh", accessToken);
+
+        assertThat(response.getHeader("Authorization")).isNull();
+        assertThat(response.getHeader("Authorization-Refresh")).isNull();
+        assertThat(SecurityContextHolder.getContext().getAuthentication()).isNull();
+        verifyNoInteractions(userRepository);
+    }
+
+    private MockHttpServletResponse doFilter(String header, String token) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/user");
+        request.addHeader(header, jwtService.getBEARER() + token);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, new MockFilterChain());
+        return response;
+    }
+
+    private long filterCount(String outcome) {
+        return meterRegistry.get("auth.jwt.filter").tag("outcome", outcome).timer().count();
+    }
+}
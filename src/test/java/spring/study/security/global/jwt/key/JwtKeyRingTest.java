@@ -0,0 +1,136 @@
+package spring.study.security.global.jwt.key;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.context.request.ServletWebRequest;
+import spring.study.security.global.jwt.controller.JwksController;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class JwtKeyRingTest {
+
+    private static final Duration JWKS_MAX_AGE = Duration.ofMinutes(5);
+    private static final long RETENTION_SECONDS = 3600;
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void nextKeyIsPublishedBeforeItSigns() throws Exception {
+        Path file = dir.resolve("keys.json");
+        Instant now = Instant.now();
+        String current = JwtKeyFile.append(file, JwtKeyRing.Algorithm.ES256, now.minusSeconds(3600));
+        JwtKeyRing keyRing = keyRing(file, JwtKeyRing.Algorithm.ES256);
+
+        String next = JwtKeyFile.append(file, JwtKeyRing.Algorithm.ES256, now.plus(Duration.ofMinutes(10)));
+        keyRing.reload(now);
+
+        assertThat(keyRing.getSigningKey().getKid()).isEqualTo(current);
+        assertThat(jwks(keyRing)).contains(current, next);
+        assertThat(keyRing.findVerificationKey(next)).isNotNull();
+
+        keyRing.reload(now.plus(Duration.ofMinutes(10)));
+        assertThat(keyRing.getSigningKey().getKid()).isEqualTo(next);
+    }
+
+    @Test
+    void keyAddedWhileRunningWaitsForJwksMaxAge() throws Exception {
+        Path file = dir.resolve("keys.json");
+        Instant now = Instant.now();
+        String current = JwtKeyFile.append(file, JwtKeyRing.Algorithm.EdDSA, now.minusSeconds(3600));
+        JwtKeyRing keyRing = keyRing(file, JwtKeyRing.Algorithm.EdDSA);
+
+        // nbf가 이미 지났더라도 JWKS 캐시가 갱신될 때까지 서명에 사용하지 않는다.
+        String next = JwtKeyFile.append(file, JwtKeyRing.Algorithm.EdDSA, now.minusSeconds(60));
+        keyRing.reload(now);
+        assertThat(keyRing.getSigningKey().getKid()).isEqualTo(current);
+        assertThat(jwks(keyRing)).contains(next);
+
+        keyRing.reload(now.plus(JWKS_MAX_AGE));
+        assertThat(keyRing.getSigningKey().getKid()).isEqualTo(next);
+    }
+
+    @Test
+    void retiredKeyIsKeptForRetention() throws Exception {
+        Path file = dir.resolve("keys.json");
+        Instant now = Instant.now();
+        String retired = JwtKeyFile.append(file, JwtKeyRing.Algorithm.ES256, now.minusSeconds(7200));
+        Instant rotatedAt = now.minusSeconds(600);
+        String current = JwtKeyFile.append(file, JwtKeyRing.Algorithm.ES256, rotatedAt);
+        JwtKeyRing keyRing = keyRing(file, JwtKeyRing.Algorithm.ES256);
+
+        assertThat(keyRing.getSigningKey().getKid()).isEqualTo(current);
+        assertThat(keyRing.findVerificationKey(retired)).isNotNull();
+        assertThat(jwks(keyRing)).contains(retired);
+
+        keyRing.reload(rotatedAt.plusSeconds(RETENTION_SECONDS + 1));
+        assertThat(keyRing.findVerificationKey(retired)).isNull();
+        assertThat(jwks(keyRing)).doesNotContain(retired);
+    }
+
+    @Test
+    void jwksReturnsNotModifiedForSameEtag() throws Exception {
+        Path file = dir.resolve("keys.json");
+        Instant now = Instant.now();
+        JwtKeyFile.append(file, JwtKeyRing.Algorithm.ES256, now.minusSeconds(60));
+        JwtKeyRing keyRing = keyRing(file, JwtKeyRing.Algorithm.ES256);
+        JwksController controller = new JwksController(keyRing, JWKS_MAX_AGE);
+
+        ResponseEntity<byte[]> first = controller.jwks(request(null));
+        String etag = first.getHeaders().getETag();
+        assertThat(first.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(first.getHeaders().getCacheControl()).contains("max-age=300");
+
+        ResponseEntity<byte[]> cached = controller.jwks(request(etag));
+        assertThat(cached.getStatusCode()).isEqualTo(HttpStatus.NOT_MODIFIED);
+        assertThat(cached.getBody()).isNull();
+        // 목록, 약한 ETag, *도 같은 표현으로 본다.
+        assertThat(controller.jwks(request("\"other\", " + etag)).getStatusCode()).isEqualTo(HttpStatus.NOT_MODIFIED);
+        assertThat(controller.jwks(request("W/" + etag)).getStatusCode()).isEqualTo(HttpStatus.NOT_MODIFIED);
+        assertThat(controller.jwks(request("*")).getStatusCode()).isEqualTo(HttpStatus.NOT_MODIFIED);
+        assertThat(controller.jwks(request("\"other\"")).getStatusCode()).isEqualTo(HttpStatus.OK);
+
+        // 키가 추가되면 ETag가 바뀐다.
+        JwtKeyFile.append(file, JwtKeyRing.Algorithm.ES256, now.plus(Duration.ofHours(1)));
+        keyRing.reload(now);
+        ResponseEntity<byte[]> changed = controller.jwks(request(etag));
+        assertThat(changed.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(changed.getHeaders().getETag()).isNotEqualTo(etag);
+    }
+
+    @Test
+    void asymmetricAlgorithmRequiresKeyFile() {
+        JwtKeyRing keyRing = new JwtKeyRing(JwtKeyRing.Algorithm.ES256, "", "", RETENTION_SECONDS, JWKS_MAX_AGE);
+
+        assertThatThrownBy(keyRing::init).isInstanceOf(IllegalStateException.class);
+    }
+
+    private static ServletWebRequest request(String ifNoneMatch) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/.well-known/jwks.json");
+        if (ifNoneMatch != null) {
+            request.addHeader(HttpHeaders.IF_NONE_MATCH, ifNoneMatch);
+        }
+        return new ServletWebRequest(request, new MockHttpServletResponse());
+    }
+
+    private JwtKeyRing keyRing(Path file, JwtKeyRing.Algorithm algorithm) {
+        JwtKeyRing keyRing = new JwtKeyRing(algorithm, "", file.toString(), RETENTION_SECONDS, JWKS_MAX_AGE);
+        keyRing.init();
+        return keyRing;
+    }
+
+    private static String jwks(JwtKeyRing keyRing) {
+        return new String(keyRing.getJwks(), StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,108 @@
+package spring.study.security.global.jwt.revocation;
+
+import io.jsonwebtoken.Jwts;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import spring.study.security.global.jwt.dto.TokenVerification;
+
+import java.time.Instant;
+import java.util.Date;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TokenDenylistTest {
+
+    private final TokenDenylist denylist = new TokenDenylist(1000, 3600, new SimpleMeterRegistry());
+    // 로컬 대체 구현으로 이벤트를 전달한다.
+    private final RevocationEventBus bus = new LocalRevocationEventBus(denylist);
+
+    @Test
+    void revokedJtiIsRejectedUntilExpiry() {
+        Instant now = Instant.now();
+        TokenVerification revoked = token(1, UUID.randomUUID().toString(), now, now.plusSeconds(60));
+        TokenVerification other = token(1, UUID.randomUUID().toString(), now, now.plusSeconds(60));
+
+        bus.publish(RevocationEvent.token(revoked.getJti(), revoked.getExpiration().toInstant()));
+
+        assertThat(denylist.isRevoked(revoked)).isTrue();
+        assertThat(denylist.isRevoked(other)).isFalse();
+    }
+
+    @Test
+    void userRevocationRejectsTokensIssuedBefore() {
+        Instant now = Instant.now();
+        TokenVerification before = token(7, UUID.randomUUID().toString(), now.minusSeconds(10), now.plusSeconds(60));
+        TokenVerification after = token(7, UUID.randomUUID().toString(), now.plusSeconds(1), now.plusSeconds(60));
+        TokenVerification otherUser = token(8, UUID.randomUUID().toString(), now.minusSeconds(10), now.plusSeconds(60));
+
+        bus.publish(RevocationEvent.user(7, now, now.plusSeconds(60)));
+
+        assertThat(denylist.isRevoked(before)).isTrue();
+        assertThat(denylist.isRevoked(after)).isFalse();
+        assertThat(denylist.isRevoked(otherUser)).isFalse();
+        assertThat(denylist.isRevokedForUser(7, Date.from(now.minusSeconds(1)))).isTrue();
+    }
+
+    @Test
+    void expiredEventsAreIgnoredAndSwept() {
+        Instant now = Instant.now();
+        String expiredJti = UUID.randomUUID().toString();
+        bus.publish(RevocationEvent.token(expiredJti, now.minusSeconds(1)));
+        bus.publish(RevocationEvent.user(3, now.minusSeconds(120), now.minusSeconds(1)));
+
+        assertThat(denylist.isRevoked(token(3, expiredJti, now.minusSeconds(200), now.plusSeconds(60)))).isFalse();
+
+        RevokedJtiSet set = new RevokedJtiSet();
+        set.add(JtiKey.of("short"), System.currentTimeMillis() + 10);
+        set.add(JtiKey.of("long"), System.currentTimeMillis() + 60_000);
+        assertThat(set.removeExpired(System.currentTimeMillis() + 1000)).isEqualTo(1);
+        assertThat(set.contains(JtiKey.of("long"), System.currentTimeMillis())).isTrue();
+    }
+
+    @Test
+    void exactSetHasNoFalsePositivesBeyondBloomCapacity() {
+        Instant expiresAt = Instant.now().plusSeconds(60);
+        for (int i = 0; i < 5000; i++) {
+            bus.publish(RevocationEvent.token("revoked-" + i, expiresAt));
+        }
+        for (int i = 0; i < 5000; i++) {
+            assertThat(denylist.isRevoked(token(1, "revoked-" + i, Instant.now(), expiresAt))).isTrue();
+            assertThat(denylist.isRevoked(token(1, UUID.randomUUID().toString(), Instant.now(), expiresAt))).isFalse();
+        }
+    }
+
+    @Test
+    void eventsSurviveEncoding() {
+        Instant expiresAt = Instant.ofEpochMilli(System.currentTimeMillis() + 60_000);
+        RevocationEvent token = RevocationEvent.token(UUID.randomUUID().toString(), expiresAt);
+        RevocationEvent user = RevocationEvent.user(42, Instant.ofEpochMilli(System.currentTimeMillis()), expiresAt);
+
+        assertThat(RevocationEvent.decode(token.encode())).isEqualTo(token);
+        assertThat(RevocationEvent.decode(user.encode())).isEqualTo(user);
+    }
+
+    @Test
+    void tokenIssuedInSameSecondAfterUserRevocationIsAccepted() {
+        Instant revokedAt = Instant.ofEpochSecond(Instant.now().getEpochSecond()).plusMillis(500);
+        bus.publish(RevocationEvent.user(9, revokedAt, revokedAt.plusSeconds(60)));
+
+        // 폐기 직후 다시 로그인한 토큰 (iat는 같은 초)
+        assertThat(denylist.isRevoked(token(9, UUID.randomUUID().toString(), revokedAt.plusMillis(1), revokedAt.plusSeconds(60)))).isFalse();
+        assertThat(denylist.isRevoked(token(9, UUID.randomUUID().toString(), revokedAt.minusMillis(1), revokedAt.plusSeconds(60)))).isTrue();
+        // 밀리초 claim이 없는 이전 토큰은 같은 초면 폐기된 것으로 본다.
+        assertThat(denylist.isRevokedForUser(9, Date.from(Instant.ofEpochSecond(revokedAt.getEpochSecond())))).isTrue();
+    }
+
+    private static TokenVerification token(int userId, String jti, Instant issuedAt, Instant expiresAt) {
+        return TokenVerification.success(Jwts.claims()
+                .id(jti)
+                .issuedAt(Date.from(issuedAt))
+                .expiration(Date.from(expiresAt))
+                .add("id", userId)
+                .add("name", "user" + userId)
+                .add("role", "ROLE_USER")
+                .add("iat_ms", issuedAt.toEpochMilli())
+                .build(), "id", "name", "role", "iat_ms");
+    }
+}
@@ -0,0 +1,34 @@
+package spring.study.security.global.jwt.service;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.test.util.ReflectionTestUtils;
+import spring.study.security.domain.repository.UserRepository;
+import spring.study.security.global.jwt.key.JwtKeyRing;
+import spring.study.security.global.jwt.revocation.TokenDenylist;
+import spring.study.security.global.jwt.store.InMemoryRefreshTokenStore;
+import spring.study.security.global.metrics.AuthMetrics;
+
+import java.time.Duration;
+import java.util.Base64;
+
+/**
+ * 테스트용 JwtService (HS512, 메모리 저장소, trust-claims)
+ */
+public final class JwtServiceFixture {
+
+    private JwtServiceFixture() {
+    }
+
+    public static JwtService create(UserRepository userRepository, TokenDenylist tokenDenylist, MeterRegistry meterRegistry) {
+        JwtKeyRing jwtKeyRing = new JwtKeyRing(JwtKeyRing.Algorithm.HS512,
+                Base64.getEncoder().encodeToString(new byte[64]), "", 86400, Duration.ofMinutes(5));
+        jwtKeyRing.init();
+        JwtService jwtService = new JwtService(userRepository, new InMemoryRefreshTokenStore(), jwtKeyRing,
+                tokenDenylist, new AuthMetrics(meterRegistry), 3600, 86400);
+        ReflectionTestUtils.setField(jwtService, "accessHeader", "Authorization");
+        ReflectionTestUtils.setField(jwtService, "refreshHeader", "Authorization-Refresh");
+        ReflectionTestUtils.setField(jwtService, "trustClaims", true);
+        jwtService.init();
+        return jwtService;
+    }
+}
@@ -0,0 +1,71 @@
+package spring.study.security.global.jwt.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import spring.study.security.domain.model.User;
+import spring.study.security.domain.repository.UserRepository;
+import spring.study.security.global.jwt.dto.IssuedRefreshToken;
+import spring.study.security.global.jwt.dto.TokenVerification;
+import spring.study.security.global.jwt.revocation.TokenDenylist;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class JwtServiceTest {
+
+    private final UserRepository userRepository = mock(UserRepository.class);
+    private final User user = User.builder().username("user1").role("ROLE_USER").build();
+    private JwtService jwtService;
+
+    @BeforeEach
+    void setUp() {
+        user.setId(1);
+        when(userRepository.findById(1)).thenReturn(Optional.of(user));
+        jwtService = JwtServiceFixture.create(userRepository, new TokenDenylist(1000, 3600, new SimpleMeterRegistry()), new SimpleMeterRegistry());
+    }
+
+    @Test
+    void concurrentReplayOfRefreshTokenIsReissuedOnce() throws Exception {
+        IssuedRefreshToken refreshToken = jwtService.createRefreshToken();
+        jwtService.updateRefreshToken(user.getId(), refreshToken);
+        TokenVerification verification = jwtService.verifyRefreshToken(refreshToken.getToken());
+
+        int threads = 16;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch ready = new CountDownLatch(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Optional<IssuedRefreshToken>>> futures = new ArrayList<>();
+        for (int i = 0; i < threads; i++) {
+            futures.add(executor.submit(() -> {
+                // 모든 요청이 find를 통과한 뒤에 rotation을 시작한다.
+                Optional<User> owner = jwtService.findRefreshTokenOwner(refreshToken.getToken(), verification);
+                ready.countDown();
+                start.await();
+                return owner.flatMap(found -> jwtService.rotateRefreshToken(refreshToken.getToken(), verification.getJti(), found));
+            }));
+        }
+        ready.await();
+        start.countDown();
+
+        List<IssuedRefreshToken> reIssued = new ArrayList<>();
+        for (Future<Optional<IssuedRefreshToken>> future : futures) {
+            future.get().ifPresent(reIssued::add);
+        }
+        executor.shutdown();
+
+        assertThat(reIssued).hasSize(1);
+        TokenVerification reIssuedVerification = jwtService.verifyRefreshToken(reIssued.get(0).getToken());
+        assertThat(jwtService.findRefreshTokenOwner(reIssued.get(0).getToken(), reIssuedVerification)).contains(user);
+        assertThat(jwtService.findRefreshTokenOwner(refreshToken.getToken(), verification)).isEmpty();
+    }
+}
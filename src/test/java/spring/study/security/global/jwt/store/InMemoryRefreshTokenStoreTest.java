@@ -0,0 +1,90 @@
+package spring.study.security.global.jwt.store;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class InMemoryRefreshTokenStoreTest {
+
+    private final InMemoryRefreshTokenStore store = new InMemoryRefreshTokenStore();
+
+    @Test
+    void saveAndFind() {
+        store.save(token("jti-1", Instant.now().plusSeconds(60)), Duration.ofSeconds(60));
+
+        assertThat(store.find("jti-1"))
+                .hasValueSatisfying(found -> {
+                    assertThat(found.getUserId()).isEqualTo(1);
+                    assertThat(found.getTokenHash()).isEqualTo("hash-jti-1");
+                });
+        assertThat(store.find("jti-2")).isEmpty();
+    }
+
+    @Test
+    void expiredTokenIsNotReturned() {
+        store.save(token("jti-1", Instant.now().minusSeconds(1)), Duration.ofSeconds(60));
+
+        assertThat(store.find("jti-1")).isEmpty();
+    }
+
+    @Test
+    void ttlShorterThanExpirationWins() {
+        store.save(token("jti-1", Instant.now().plusSeconds(60)), Duration.ZERO);
+
+        assertThat(store.find("jti-1")).isEmpty();
+    }
+
+    @Test
+    void consumeRemovesOnlyOnce() {
+        store.save(token("jti-1", Instant.now().plusSeconds(60)), Duration.ofSeconds(60));
+
+        assertThat(store.consume("jti-1", "other-hash")).isFalse();
+        assertThat(store.find("jti-1")).isPresent();
+
+        assertThat(store.consume("jti-1", "hash-jti-1")).isTrue();
+        assertThat(store.consume("jti-1", "hash-jti-1")).isFalse();
+        assertThat(store.find("jti-1")).isEmpty();
+    }
+
+    @Test
+    void expiredTokenIsNotConsumed() {
+        store.save(token("jti-1", Instant.now().minusSeconds(1)), Duration.ofSeconds(60));
+
+        assertThat(store.consume("jti-1", "hash-jti-1")).isFalse();
+    }
+
+    @Test
+    void concurrentSaves() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int i = 0; i < 5000; i++) {
+            String jti = "jti-" + i;
+            futures.add(executor.submit(() -> store.save(token(jti, Instant.now().plusSeconds(60)), Duration.ofSeconds(60))));
+        }
+        for (Future<?> future : futures) {
+            future.get();
+        }
+        executor.shutdown();
+
+        for (int i = 0; i < 5000; i++) {
+            assertThat(store.find("jti-" + i)).isPresent();
+        }
+    }
+
+    private static StoredRefreshToken token(String jti, Instant expiresAt) {
+        return StoredRefreshToken.builder()
+                .jti(jti)
+                .tokenHash("hash-" + jti)
+                .userId(1)
+                .expiresAt(expiresAt)
+                .build();
+    }
+}
@@ -0,0 +1,79 @@
+package spring.study.security.global.jwt.store;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+import org.springframework.data.redis.core.script.RedisScript;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class RedisRefreshTokenStoreTest {
+
+    private final StringRedisTemplate redisTemplate = mock(StringRedisTemplate.class);
+    @SuppressWarnings("unchecked")
+    private final ValueOperations<String, String> valueOperations = mock(ValueOperations.class);
+    private final RedisRefreshTokenStore store = new RedisRefreshTokenStore(redisTemplate);
+
+    @BeforeEach
+    void setUp() {
+        when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+    }
+
+    @Test
+    void saveUsesSetExWithEncodedValue() {
+        Instant expiresAt = Instant.ofEpochMilli(1_700_000_000_123L);
+        store.save(StoredRefreshToken.builder()
+                .jti("jti-1")
+                .tokenHash("hash")
+                .userId(7)
+                .expiresAt(expiresAt)
+                .build(), Duration.ofSeconds(60));
+
+        verify(valueOperations).set("refresh_token:jti-1", "7:hash:1700000000123", Duration.ofSeconds(60));
+    }
+
+    @Test
+    void findDecodesValue() {
+        when(valueOperations.get("refresh_token:jti-1")).thenReturn("7:hash:1700000000123");
+
+        assertThat(store.find("jti-1")).hasValueSatisfying(found -> {
+            assertThat(found.getJti()).isEqualTo("jti-1");
+            assertThat(found.getUserId()).isEqualTo(7);
+            assertThat(found.getTokenHash()).isEqualTo("hash");
+            assertThat(found.getExpiresAt()).isEqualTo(Instant.ofEpochMilli(1_700_000_000_123L));
+        });
+    }
+
+    @Test
+    void missingOrMalformedValueIsEmpty() {
+        when(valueOperations.get("refresh_token:missing")).thenReturn(null);
+        when(valueOperations.get("refresh_token:malformed")).thenReturn("7:hash");
+
+        assertThat(store.find("missing")).isEmpty();
+        assertThat(store.find("malformed")).isEmpty();
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void consumeRunsCompareAndDeleteScript() {
+        when(redisTemplate.execute(any(RedisScript.class), eq(List.of("refresh_token:jti-1")), eq("hash")))
+                .thenReturn(1L, 0L);
+
+        assertThat(store.consume("jti-1", "hash")).isTrue();
+        // 이미 지운 토큰은 다시 consume 할 수 없다.
+        assertThat(store.consume("jti-1", "hash")).isFalse();
+        verify(redisTemplate, never()).delete(anyString());
+    }
+}
@@ -0,0 +1,81 @@
+package spring.study.security.global.login.authority;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.GrantedAuthority;
+import spring.study.security.domain.model.Role;
+import spring.study.security.global.login.dto.UserPrincipal;
+import spring.study.security.global.route.AuthoritySetAuthorizationManager;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RoleAuthorityRegistryTest {
+
+    // V2__create_role_and_role_permission.sql과 같은 구성
+    private static final List<Role> ROLES = List.of(
+            new Role("ROLE_USER", null, Set.of(Permissions.USER_ACCESS)),
+            new Role("ROLE_MANAGER", "ROLE_USER", Set.of(Permissions.MANAGER_ACCESS)),
+            new Role("ROLE_ADMIN", "ROLE_MANAGER", Set.of(Permissions.ADMIN_ACCESS))
+    );
+
+    private final RoleAuthorityRegistry registry = new RoleAuthorityRegistry(null);
+
+    @Test
+    void inheritedRolesAndPermissionsAreIncluded() {
+        registry.load(ROLES);
+
+        assertThat(registry.authoritiesOf("ROLE_USER")).extracting(GrantedAuthority::getAuthority)
+                .containsExactlyInAnyOrder("ROLE_USER", Permissions.USER_ACCESS);
+        assertThat(registry.authoritiesOf("ROLE_ADMIN")).extracting(GrantedAuthority::getAuthority)
+                .containsExactlyInAnyOrder("ROLE_ADMIN", "ROLE_MANAGER", "ROLE_USER",
+                        Permissions.ADMIN_ACCESS, Permissions.MANAGER_ACCESS, Permissions.USER_ACCESS);
+        assertThat(registry.authoritiesOf("ROLE_MANAGER")).isSameAs(registry.authoritiesOf("ROLE_MANAGER"));
+    }
+
+    @Test
+    void unknownRoleHasOnlyItsName() {
+        registry.load(ROLES);
+
+        assertThat(registry.authoritiesOf("ROLE_GUEST")).extracting(GrantedAuthority::getAuthority).containsExactly("ROLE_GUEST");
+        assertThat(registry.authoritiesOf(null)).isEmpty();
+    }
+
+    @Test
+    void reloadReplacesAuthorities() {
+        registry.load(ROLES);
+        registry.load(List.of(new Role("ROLE_USER", null, Set.of())));
+
+        assertThat(registry.authoritiesOf("ROLE_USER")).extracting(GrantedAuthority::getAuthority).containsExactly("ROLE_USER");
+        assertThat(registry.authoritiesOf("ROLE_ADMIN")).extracting(GrantedAuthority::getAuthority).containsExactly("ROLE_ADMIN");
+    }
+
+    @Test
+    void cyclicInheritanceStops() {
+        registry.load(List.of(
+                new Role("ROLE_A", "ROLE_B", Set.of("a")),
+                new Role("ROLE_B", "ROLE_A", Set.of("b"))
+        ));
+
+        assertThat(registry.authoritiesOf("ROLE_A")).extracting(GrantedAuthority::getAuthority)
+                .containsExactlyInAnyOrder("ROLE_A", "ROLE_B", "a", "b");
+    }
+
+    @Test
+    void authorizationManagerChecksPermission() {
+        registry.load(ROLES);
+        AuthoritySetAuthorizationManager managerAccess = AuthoritySetAuthorizationManager.hasAuthority(Permissions.MANAGER_ACCESS);
+
+        assertThat(managerAccess.check(() -> authenticated("ROLE_ADMIN"), null).isGranted()).isTrue();
+        assertThat(managerAccess.check(() -> authenticated("ROLE_MANAGER"), null).isGranted()).isTrue();
+        assertThat(managerAccess.check(() -> authenticated("ROLE_USER"), null).isGranted()).isFalse();
+        assertThat(managerAccess.check(() -> null, null).isGranted()).isFalse();
+    }
+
+    private UsernamePasswordAuthenticationToken authenticated(String role) {
+        UserPrincipal principal = UserPrincipal.of(1, "user", role, registry.authoritiesOf(role));
+        return UsernamePasswordAuthenticationToken.authenticated(principal, null, principal.getAuthorities());
+    }
+}
@@ -0,0 +1,102 @@
+package spring.study.security.global.login.filter;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockAsyncContext;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import spring.study.security.global.login.parser.LoginRequestParser;
+import spring.study.security.global.login.ratelimit.LoginRateLimiter;
+import spring.study.security.global.metrics.AuthMetrics;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CustomJsonUsernamePasswordAuthenticationFilterTest {
+
+    private final AtomicInteger authentications = new AtomicInteger();
+    private final AtomicInteger successes = new AtomicInteger();
+    // 제출된 작업을 바로 실행하지 않고 모아둔다. (대기열에서 기다리는 상황)
+    private final List<Runnable> queued = new ArrayList<>();
+
+    @Test
+    void timeoutRespondsServiceUnavailableAndDropsLateResult() throws Exception {
+        CustomJsonUsernamePasswordAuthenticationFilter filter = createFilter();
+        MockHttpServletRequest request = loginRequest();
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        filter.doFilter(request, response, new MockFilterChain());
+        MockAsyncContext asyncContext = (MockAsyncContext) request.getAsyncContext();
+        assertThat(asyncContext.getTimeout()).isEqualTo(1000);
+
+        // 컨테이너의 타임아웃 처리
+        for (AsyncListener listener : asyncContext.getListeners()) {
+            listener.onTimeout(new AsyncEvent(asyncContext, request, response));
+        }
+        assertThat(response.getStatus()).isEqualTo(503);
+        assertThat(response.getHeader(HttpHeaders.RETRY_AFTER)).isEqualTo("1");
+
+        // 타임아웃 이후에 실행된 작업은 검증도, 응답도 하지 않는다.
+        queued.forEach(Runnable::run);
+        assertThat(authentications).hasValue(0);
+        assertThat(successes).hasValue(0);
+        assertThat(response.getStatus()).isEqualTo(503);
+    }
+
+    @Test
+    void finishedLoginIgnoresLaterTimeout() throws Exception {
+        CustomJsonUsernamePasswordAuthenticationFilter filter = createFilter();
+        MockHttpServletRequest request = loginRequest();
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        filter.doFilter(request, response, new MockFilterChain());
+        MockAsyncContext asyncContext = (MockAsyncContext) request.getAsyncContext();
+        queued.forEach(Runnable::run);
+        for (AsyncListener listener : asyncContext.getListeners()) {
+            listener.onTimeout(new AsyncEvent(asyncContext, request, response));
+        }
+
+        assertThat(authentications).hasValue(1);
+        assertThat(successes).hasValue(1);
+        assertThat(response.getStatus()).isEqualTo(200);
+        assertThat(response.getHeader(HttpHeaders.RETRY_AFTER)).isNull();
+    }
+
+    private CustomJsonUsernamePasswordAuthenticationFilter createFilter() {
+        LoginRateLimiter rateLimiter = new LoginRateLimiter(
+                false, 1000, Duration.ofMinutes(15),
+                3, 1, 10,
+                2, 1, 3,
+                new AuthMetrics(new SimpleMeterRegistry())
+        );
+        CustomJsonUsernamePasswordAuthenticationFilter filter = new CustomJsonUsernamePasswordAuthenticationFilter(
+                new LoginRequestParser(new ObjectMapper(), 1024, 128), rateLimiter);
+        filter.setAuthenticationManager(authentication -> {
+            authentications.incrementAndGet();
+            return UsernamePasswordAuthenticationToken.authenticated(authentication.getPrincipal(), null, List.of());
+        });
+        filter.setAuthenticationSuccessHandler((request, response, authentication) -> successes.incrementAndGet());
+        filter.setLoginExecutor(queued::add, 1, 1000);
+        return filter;
+    }
+
+    private static MockHttpServletRequest loginRequest() {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/login");
+        request.setServletPath("/login");
+        request.setAsyncSupported(true);
+        request.setContentType("application/json");
+        request.setContent("{\"username\": \"user\", \"password\": \"p@ss\"}".getBytes(StandardCharsets.UTF_8));
+        return request;
+    }
+}
@@ -0,0 +1,87 @@
+package spring.study.security.global.login.parser;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.AuthenticationServiceException;
+import spring.study.security.domain.dto.LoginDto;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class LoginRequestParserTest {
+
+    private final LoginRequestParser parser = new LoginRequestParser(new ObjectMapper(), 1024, 128);
+
+    @Test
+    void parseUsernameAndPassword() throws IOException {
+        LoginDto loginDto = parse("{\"username\": \"user\", \"password\": \"p@ss\"}");
+
+        assertThat(loginDto.getUsername()).isEqualTo("user");
+        assertThat(loginDto.getPassword()).isEqualTo("p@ss");
+    }
+
+    @Test
+    void missingFieldIsNull() throws IOException {
+        LoginDto loginDto = parse("{\"username\": \"user\"}");
+
+        assertThat(loginDto.getUsername()).isEqualTo("user");
+        assertThat(loginDto.getPassword()).isNull();
+    }
+
+    @Test
+    void rejectUnknownDuplicatedOrNonStringField() {
+        assertRejected("{\"username\": \"user\", \"password\": \"p\", \"admin\": \"true\"}");
+        assertRejected("{\"username\": \"user\", \"username\": \"other\"}");
+        assertRejected("{\"username\": {\"nested\": \"user\"}}");
+        assertRejected("{\"username\": [\"user\"]}");
+        assertRejected("{\"username\": 1}");
+    }
+
+    @Test
+    void rejectMalformedJson() {
+        assertRejected("");
+        assertRejected("[\"user\", \"p\"]");
+        assertRejected("{\"username\": \"user\"");
+        assertRejected("{\"username\": \"user\"} {}");
+    }
+
+    @Test
+    void rejectTooLongField() {
+        assertRejected("{\"username\": \"" + "a".repeat(129) + "\"}");
+    }
+
+    @Test
+    void rejectTooLargeBodyByContentLength() {
+        InputStream body = new ByteArrayInputStream("{}".getBytes(StandardCharsets.UTF_8));
+
+        assertThatThrownBy(() -> parser.parse(body, 1025))
+                .isInstanceOf(AuthenticationServiceException.class);
+    }
+
+    @Test
+    void rejectTooLargeBodyWithoutContentLength() {
+        // Content-Length가 없는 (chunked) 요청도 읽은 바이트 수로 제한된다.
+        String body = "{\"username\": \"user\"" + " ".repeat(2048) + "}";
+
+        assertThatThrownBy(() -> parser.parse(toStream(body), -1))
+                .isInstanceOf(AuthenticationServiceException.class);
+    }
+
+    private LoginDto parse(String body) throws IOException {
+        return parser.parse(toStream(body), body.length());
+    }
+
+    private void assertRejected(String body) {
+        assertThatThrownBy(() -> parse(body))
+                .isInstanceOf(AuthenticationServiceException.class);
+    }
+
+    private static InputStream toStream(String body) {
+        return new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,71 @@
+package spring.study.security.global.login.password;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import spring.study.security.global.login.password.AdaptivePasswordEncoder.Algorithm;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AdaptivePasswordEncoderTest {
+
+    // 목표 시간을 아주 짧게 주면 최소 cost(bcrypt 10, argon2 2)로 정해진다.
+    private static final Duration MIN_TARGET = Duration.ofMillis(1);
+
+    @Test
+    void legacyBCryptHashIsMatchedAndUpgraded() {
+        AdaptivePasswordEncoder encoder = AdaptivePasswordEncoder.calibrate(Algorithm.BCRYPT, MIN_TARGET, 0, 0, 1000);
+        String legacy = new BCryptPasswordEncoder().encode("password");
+
+        assertThat(encoder.matches("password", legacy)).isTrue();
+        assertThat(encoder.matches("wrong", legacy)).isFalse();
+        assertThat(encoder.upgradeEncoding(legacy)).isTrue();
+    }
+
+    @Test
+    void onlyLowerBcryptCostIsUpgraded() {
+        AdaptivePasswordEncoder encoder = AdaptivePasswordEncoder.calibrate(Algorithm.BCRYPT, MIN_TARGET, 0, 0, 1000);
+        String current = encoder.encode("password");
+
+        assertThat(current).startsWith("{bcrypt}$2a$10$");
+        assertThat(encoder.upgradeEncoding(current)).isFalse();
+        // 더 높은 cost로 해싱한 다른 서버의 해시를 낮추지 않는다.
+        assertThat(encoder.upgradeEncoding("{bcrypt}" + new BCryptPasswordEncoder(11).encode("password"))).isFalse();
+        assertThat(encoder.upgradeEncoding("{bcrypt}" + new BCryptPasswordEncoder(4).encode("password"))).isTrue();
+    }
+
+    @Test
+    void costCanBePinnedOrFloored() {
+        AdaptivePasswordEncoder pinned = AdaptivePasswordEncoder.calibrate(Algorithm.BCRYPT, MIN_TARGET, 0, 11, 1000);
+        AdaptivePasswordEncoder floored = AdaptivePasswordEncoder.calibrate(Algorithm.ARGON2, MIN_TARGET, 3, 0, 1000);
+
+        assertThat(pinned.encode("password")).startsWith("{bcrypt}$2a$11$");
+        assertThat(floored.encode("password")).startsWith("{argon2}$argon2id$v=19$m=19456,t=3,p=1$");
+        assertThat(floored.upgradeEncoding("{argon2}$argon2id$v=19$m=19456,t=2,p=1$c2FsdA$aGFzaA")).isTrue();
+    }
+
+    @Test
+    void switchingAlgorithmKeepsOldHashesValid() {
+        AdaptivePasswordEncoder bcrypt = AdaptivePasswordEncoder.calibrate(Algorithm.BCRYPT, MIN_TARGET, 0, 0, 1000);
+        AdaptivePasswordEncoder argon2 = AdaptivePasswordEncoder.calibrate(Algorithm.ARGON2, MIN_TARGET, 0, 0, 1000);
+        String bcryptHash = bcrypt.encode("password");
+        String argon2Hash = argon2.encode("password");
+
+        assertThat(argon2Hash).startsWith("{argon2}$argon2id$v=19$m=19456,t=2,p=1$");
+        assertThat(argon2.matches("password", bcryptHash)).isTrue();
+        assertThat(argon2.upgradeEncoding(bcryptHash)).isTrue();
+        assertThat(argon2.upgradeEncoding(argon2Hash)).isFalse();
+        assertThat(bcrypt.matches("password", argon2Hash)).isTrue();
+    }
+
+    @Test
+    void pbkdf2UsesConfiguredIterations() {
+        AdaptivePasswordEncoder encoder = AdaptivePasswordEncoder.calibrate(Algorithm.PBKDF2, MIN_TARGET, 0, 0, 1000);
+        String hash = encoder.encode("password");
+
+        assertThat(hash).startsWith("{pbkdf2}");
+        assertThat(encoder.matches("password", hash)).isTrue();
+        assertThat(encoder.upgradeEncoding(hash)).isFalse();
+    }
+}
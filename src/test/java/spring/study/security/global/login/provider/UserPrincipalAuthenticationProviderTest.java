@@ -0,0 +1,56 @@
+package spring.study.security.global.login.provider;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.crypto.factory.PasswordEncoderFactories;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import spring.study.security.domain.model.User;
+import spring.study.security.global.login.dto.UserPrincipal;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class UserPrincipalAuthenticationProviderTest {
+
+    private final PasswordEncoder passwordEncoder = PasswordEncoderFactories.createDelegatingPasswordEncoder();
+
+    @Test
+    void authenticatedPrincipalHasNoPassword() {
+        User user = User.builder()
+                .username("user")
+                .password(passwordEncoder.encode("password"))
+                .role("ROLE_USER")
+                .build();
+        UserPrincipalAuthenticationProvider provider = new UserPrincipalAuthenticationProvider();
+        provider.setPasswordEncoder(passwordEncoder);
+        provider.setUserDetailsService(username -> UserPrincipal.withPassword(user, Set.of(new SimpleGrantedAuthority("ROLE_USER"))));
+
+        Authentication authentication = provider.authenticate(UsernamePasswordAuthenticationToken.unauthenticated("user", "password"));
+
+        UserPrincipal principal = (UserPrincipal) authentication.getPrincipal();
+        assertThat(principal.getUsername()).isEqualTo("user");
+        assertThat(principal.getPassword()).isNull();
+        assertThat(principal.toString()).doesNotContain(user.getPassword());
+        assertThat(authentication.getAuthorities()).extracting("authority").containsExactly("ROLE_USER");
+    }
+
+    @Test
+    void principalIsSerializable() throws Exception {
+        UserPrincipal principal = UserPrincipal.of(1, "user", "ROLE_ADMIN", Set.of(new SimpleGrantedAuthority("ROLE_ADMIN")));
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+            out.writeObject(principal);
+        }
+        try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(bytes.toByteArray()))) {
+            assertThat(in.readObject()).isEqualTo(principal);
+        }
+    }
+}
@@ -0,0 +1,98 @@
+package spring.study.security.global.login.ratelimit;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import spring.study.security.global.metrics.AuthMetrics;
+
+import java.time.Duration;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatNoException;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class LoginRateLimiterTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+    // IP : 3회 연속 허용, 실패 10회 / username : 2회 연속 허용, 실패 3회
+    private final LoginRateLimiter limiter = new LoginRateLimiter(
+            true, 1000, Duration.ofMinutes(15),
+            3, 1, 10,
+            2, 1, 3,
+            new AuthMetrics(registry)
+    );
+
+    @Test
+    void bucketAllowsBurstThenThrottles() {
+        limiter.checkUsername("user");
+        limiter.checkUsername("user");
+
+        assertThatThrownBy(() -> limiter.checkUsername("user"))
+                .isInstanceOfSatisfying(LoginThrottledException.class,
+                        e -> assertThat(e.getRetryAfterSeconds()).isBetween(1L, 60L));
+        // 다른 키는 영향을 받지 않는다.
+        assertThatNoException().isThrownBy(() -> limiter.checkUsername("other"));
+        assertThat(registry.counter("auth.login.throttled", "key", "username", "cause", "rate").count()).isEqualTo(1);
+    }
+
+    @Test
+    void failuresBlockUntilSuccess() {
+        LoginRateLimiter limiter = new LoginRateLimiter(
+                true, 1000, Duration.ofMinutes(15),
+                100, 100, 100,
+                100, 100, 3,
+                new AuthMetrics(registry)
+        );
+        for (int i = 0; i < 3; i++) {
+            limiter.checkUsername("user");
+            limiter.recordFailure("127.0.0.1", "user");
+        }
+
+        assertThatThrownBy(() -> limiter.checkUsername("user"))
+                .isInstanceOfSatisfying(LoginThrottledException.class,
+                        e -> assertThat(e.getRetryAfterSeconds()).isGreaterThan(TimeUnit.MINUTES.toSeconds(14)));
+        assertThat(registry.counter("auth.login.throttled", "key", "username", "cause", "failures").count()).isEqualTo(1);
+
+        limiter.recordSuccess("user");
+        assertThatNoException().isThrownBy(() -> limiter.checkUsername("user"));
+    }
+
+    @Test
+    void disabledLimiterAllowsEverything() {
+        LoginRateLimiter limiter = new LoginRateLimiter(
+                false, 1000, Duration.ofMinutes(15),
+                1, 1, 1,
+                1, 1, 1,
+                new AuthMetrics(registry)
+        );
+        limiter.recordFailure("127.0.0.1", "user");
+
+        for (int i = 0; i < 10; i++) {
+            limiter.checkIp("127.0.0.1");
+            limiter.checkUsername("user");
+        }
+    }
+
+    @Test
+    void concurrentRequestsNeverExceedCapacity() throws InterruptedException {
+        AtomicInteger allowed = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        for (int i = 0; i < 1000; i++) {
+            executor.execute(() -> {
+                try {
+                    limiter.checkIp("10.0.0.1");
+                    allowed.incrementAndGet();
+                } catch (LoginThrottledException ignored) {
+                }
+            });
+        }
+        executor.shutdown();
+        assertThat(executor.awaitTermination(10, TimeUnit.SECONDS)).isTrue();
+
+        assertThat(allowed.get()).isEqualTo(3);
+    }
+}
@@ -0,0 +1,121 @@
+package spring.study.security.global.oauth2;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.security.config.oauth2.client.CommonOAuth2Provider;
+import org.springframework.security.oauth2.client.registration.ClientRegistration;
+import org.springframework.security.oauth2.client.registration.ClientRegistrationRepository;
+import org.springframework.security.oauth2.client.registration.InMemoryClientRegistrationRepository;
+import org.springframework.security.oauth2.core.AuthorizationGrantType;
+import org.springframework.security.oauth2.core.OAuth2AuthenticationException;
+import spring.study.security.global.oauth2.userinfo.OAuth2UserInfo;
+
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class OAuth2UserInfoRegistryTest {
+
+    private final OAuth2UserInfoRegistry registry = new OAuth2UserInfoRegistry(new InMemoryClientRegistrationRepository(
+            CommonOAuth2Provider.GOOGLE.getBuilder("google").clientId("id").build(),
+            CommonOAuth2Provider.GITHUB.getBuilder("github").clientId("id").build(),
+            registration("kakao", "id"),
+            registration("kakao-biz", "id"),
+            registration("naver", "response")
+    ), Map.of("kakao-biz", "kakao"));
+
+    @Test
+    void google() {
+        OAuthAttributes attributes = registry.extract("google", Map.of(
+                "sub", "100", "name", "구글", "email", "google@test.com", "picture", "https://image"));
+
+        assertThat(attributes.getNameAttributeKey()).isEqualTo("sub");
+        assertUserInfo(attributes.getOauth2UserInfo(), "100", "구글", "google@test.com", "https://image");
+    }
+
+    @Test
+    void kakaoReadsNestedAccount() {
+        OAuthAttributes attributes = registry.extract("kakao", Map.of(
+                "id", 123L,
+                "kakao_account", Map.of(
+                        "email", "kakao@test.com",
+                        "profile", Map.of("nickname", "카카오", "profile_image_url", "https://image"))));
+
+        assertThat(attributes.getNameAttributeKey()).isEqualTo("id");
+        assertUserInfo(attributes.getOauth2UserInfo(), "123", "카카오", "kakao@test.com", "https://image");
+    }
+
+    @Test
+    void registrationIsResolvedByProvider() {
+        OAuthAttributes attributes = registry.extract("kakao-biz", Map.of("id", 123L));
+
+        assertThat(attributes.getNameAttributeKey()).isEqualTo("id");
+        assertUserInfo(attributes.getOauth2UserInfo(), "123", null, null, null);
+    }
+
+    @Test
+    void kakaoWithoutAgreedAccount() {
+        OAuthAttributes attributes = registry.extract("kakao", Map.of("id", 123L));
+
+        assertUserInfo(attributes.getOauth2UserInfo(), "123", null, null, null);
+    }
+
+    @Test
+    void naverReadsNestedResponse() {
+        OAuthAttributes attributes = registry.extract("naver", Map.of(
+                "resultcode", "00",
+                "response", Map.of("id", "abc", "nickname", "네이버", "email", "naver@test.com", "profile_image", "https://image")));
+
+        assertThat(attributes.getNameAttributeKey()).isEqualTo("response");
+        assertUserInfo(attributes.getOauth2UserInfo(), "abc", "네이버", "naver@test.com", "https://image");
+    }
+
+    @Test
+    void githubFallsBackToLogin() {
+        OAuthAttributes attributes = registry.extract("github", Map.of("id", 42, "login", "octocat", "avatar_url", "https://image"));
+
+        assertUserInfo(attributes.getOauth2UserInfo(), "42", "octocat", null, "https://image");
+    }
+
+    @Test
+    void missingIdIsNull() {
+        assertThat(registry.extract("kakao", Map.of("kakao_account", Map.of())).getOauth2UserInfo().getId()).isNull();
+        assertThat(registry.extract("github", Map.of("login", "octocat")).getOauth2UserInfo().getId()).isNull();
+        assertThat(registry.extract("naver", Map.of("response", Map.of())).getOauth2UserInfo().getId()).isNull();
+    }
+
+    @Test
+    void unknownRegistrationIsRejected() {
+        assertThatThrownBy(() -> registry.extract("facebook", Map.of()))
+                .isInstanceOf(OAuth2AuthenticationException.class);
+        assertThatThrownBy(() -> new OAuth2UserInfoRegistry(new InMemoryClientRegistrationRepository(registration("facebook", "id")), Map.of()))
+                .isInstanceOf(IllegalStateException.class);
+    }
+
+    @Test
+    void repositoryThatCannotBeListedFailsFast() {
+        ClientRegistrationRepository notIterable = registrationId -> null;
+
+        assertThatThrownBy(() -> new OAuth2UserInfoRegistry(notIterable, Map.of()))
+                .isInstanceOf(IllegalStateException.class);
+    }
+
+    private static void assertUserInfo(OAuth2UserInfo userInfo, String id, String nickname, String email, String imageUrl) {
+        assertThat(userInfo.getId()).isEqualTo(id);
+        assertThat(userInfo.getNickname()).isEqualTo(nickname);
+        assertThat(userInfo.getEmail()).isEqualTo(email);
+        assertThat(userInfo.getImageUrl()).isEqualTo(imageUrl);
+    }
+
+    private static ClientRegistration registration(String registrationId, String userNameAttribute) {
+        return ClientRegistration.withRegistrationId(registrationId)
+                .clientId("id")
+                .authorizationGrantType(AuthorizationGrantType.AUTHORIZATION_CODE)
+                .redirectUri("{baseUrl}/login/oauth2/code/{registrationId}")
+                .authorizationUri("https://provider/authorize")
+                .tokenUri("https://provider/token")
+                .userInfoUri("https://provider/me")
+                .userNameAttributeName(userNameAttribute)
+                .build();
+    }
+}
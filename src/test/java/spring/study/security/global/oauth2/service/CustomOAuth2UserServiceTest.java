@@ -0,0 +1,69 @@
+package spring.study.security.global.oauth2.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.security.oauth2.client.OAuth2ClientProperties;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.RequestEntity;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.oauth2.client.registration.ClientRegistration;
+import org.springframework.security.oauth2.client.registration.InMemoryClientRegistrationRepository;
+import org.springframework.security.oauth2.client.userinfo.OAuth2UserRequest;
+import org.springframework.security.oauth2.core.AuthorizationGrantType;
+import org.springframework.security.oauth2.core.OAuth2AccessToken;
+import org.springframework.security.oauth2.core.OAuth2AuthenticationException;
+import org.springframework.web.client.RestOperations;
+import spring.study.security.global.login.authority.RoleAuthorityRegistry;
+import spring.study.security.global.metrics.AuthMetrics;
+import spring.study.security.global.oauth2.OAuth2UserInfoRegistry;
+
+import java.time.Instant;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+class CustomOAuth2UserServiceTest {
+
+    private final ClientRegistration naver = ClientRegistration.withRegistrationId("naver")
+            .clientId("id")
+            .authorizationGrantType(AuthorizationGrantType.AUTHORIZATION_CODE)
+            .redirectUri("{baseUrl}/login/oauth2/code/{registrationId}")
+            .authorizationUri("https://provider/authorize")
+            .tokenUri("https://provider/token")
+            .userInfoUri("https://provider/me")
+            .userNameAttributeName("response")
+            .build();
+    private final RestOperations restOperations = mock(RestOperations.class);
+    private final OAuth2UserRegistrationService registrationService = mock(OAuth2UserRegistrationService.class);
+    @SuppressWarnings("unchecked")
+    private final ObjectProvider<OAuth2ClientProperties> clientProperties = mock(ObjectProvider.class);
+    private final CustomOAuth2UserService service = new CustomOAuth2UserService(
+            registrationService,
+            new OAuth2UserInfoRegistry(new InMemoryClientRegistrationRepository(naver), clientProperties),
+            new AuthMetrics(new SimpleMeterRegistry()),
+            new RoleAuthorityRegistry(null),
+            restOperations,
+            false
+    );
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void loginWithoutProviderIdIsRejected() {
+        Map<String, Object> attributes = Map.of("resultcode", "00", "response", Map.of("nickname", "네이버"));
+        when(restOperations.exchange(any(RequestEntity.class), any(ParameterizedTypeReference.class)))
+                .thenReturn(ResponseEntity.ok(attributes));
+        OAuth2AccessToken accessToken = new OAuth2AccessToken(OAuth2AccessToken.TokenType.BEARER, "token",
+                Instant.now(), Instant.now().plusSeconds(60));
+
+        assertThatThrownBy(() -> service.loadUser(new OAuth2UserRequest(naver, accessToken)))
+                .isInstanceOfSatisfying(OAuth2AuthenticationException.class,
+                        e -> assertThat(e.getError().getErrorCode()).isEqualTo("invalid_user_info"));
+        verifyNoInteractions(registrationService);
+    }
+}
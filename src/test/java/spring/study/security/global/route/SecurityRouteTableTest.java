@@ -0,0 +1,65 @@
+package spring.study.security.global.route;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class SecurityRouteTableTest {
+
+    private final SecurityRouteTable table = SecurityRoutes.table();
+
+    @Test
+    void protectedPrefixesAreNotPublic() {
+        assertThat(table.isPublic("/user", 0)).isFalse();
+        assertThat(table.isPublic("/user/", 0)).isFalse();
+        assertThat(table.isPublic("/user/logout/all", 0)).isFalse();
+        assertThat(table.isPublic("/manager", 0)).isFalse();
+        assertThat(table.isPublic("/admin/users/import", 0)).isFalse();
+        assertThat(table.isPublic("/actuator/prometheus", 0)).isFalse();
+        assertThat(table.isPublic("/actuator", 0)).isFalse();
+    }
+
+    @Test
+    void otherPathsArePublic() {
+        assertThat(table.isPublic("/", 0)).isTrue();
+        assertThat(table.isPublic("/login", 0)).isTrue();
+        assertThat(table.isPublic("/loginForm", 0)).isTrue();
+        assertThat(table.isPublic("/users", 0)).isTrue();
+        assertThat(table.isPublic("/oauth2/authorization/google", 0)).isTrue();
+        assertThat(table.isPublic("/.well-known/jwks.json", 0)).isTrue();
+        assertThat(table.isPublic("/actuator/health", 0)).isTrue();
+        assertThat(table.isPublic("/actuator/health/liveness", 0)).isTrue();
+    }
+
+    @Test
+    void contextPathIsSkipped() {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/app/user/logout");
+        request.setContextPath("/app");
+
+        assertThat(table.isPublic(request)).isFalse();
+        assertThat(table.isPublic("/user/login", "/user".length())).isTrue();
+    }
+
+    @Test
+    void firstDeclaredRouteWins() {
+        SecurityRouteTable overlapping = SecurityRouteTable.compile(List.of(
+                SecurityRoute.permitAll("/user/join"),
+                SecurityRoute.authenticated("/user/**"),
+                SecurityRoute.permitAll("/user/public/**")
+        ), true);
+
+        assertThat(overlapping.isPublic("/user/join", 0)).isTrue();
+        assertThat(overlapping.isPublic("/user/join/x", 0)).isFalse();
+        assertThat(overlapping.isPublic("/user/public/a", 0)).isFalse();
+    }
+
+    @Test
+    void unsupportedPatternIsRejected() {
+        assertThatThrownBy(() -> SecurityRouteTable.compile(List.of(SecurityRoute.authenticated("/user/*/edit")), true))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}